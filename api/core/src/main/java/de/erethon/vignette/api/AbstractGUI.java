@@ -39,7 +39,7 @@ public abstract class AbstractGUI<T extends AbstractGUI<T>> implements GUI<T> {
     private Set<StatusModifier<?>> statusModifiers = new HashSet<>();
     private boolean isTransient;
 
-    protected PlayerCollection viewers = new PlayerCollection();
+    protected PlayerCollection viewers = new PlayerCollection(true);
 
     protected AbstractGUI() {
         this("");
@@ -50,8 +50,16 @@ public abstract class AbstractGUI<T extends AbstractGUI<T>> implements GUI<T> {
     }
 
     protected AbstractGUI(AbstractGUI gui) {
+        this(gui, false);
+    }
+
+    /**
+     * @param gui      the GUI to copy
+     * @param instance if the copy is a lightweight instance that shares the components of the GUI until they are accessed
+     */
+    protected AbstractGUI(AbstractGUI gui, boolean instance) {
         this(gui.title);
-        layout = gui.layout.copy(this);
+        layout = instance ? gui.layout.instantiate(this) : gui.layout.copy(this);
         closeListener = gui.closeListener;
         contextModifiers = gui.contextModifiers;
         statusModifiers = gui.statusModifiers;
@@ -146,6 +154,17 @@ public abstract class AbstractGUI<T extends AbstractGUI<T>> implements GUI<T> {
 
     @Override
     public Collection<Player> getViewers() {
+        return new ArrayList<>(viewers.getOnlinePlayers());
+    }
+
+    /**
+     * Returns the online Players viewing the GUI without copying them.
+     * <p>
+     * Unlike {@link #getViewers()}, the Collection might be a live view, so viewers must not be added or removed while iterating over it.
+     *
+     * @return the online Players viewing the GUI
+     */
+    protected Collection<Player> getOnlineViewers() {
         return viewers.getOnlinePlayers();
     }
 
@@ -159,10 +178,22 @@ public abstract class AbstractGUI<T extends AbstractGUI<T>> implements GUI<T> {
         this.isTransient = isTransient;
     }
 
+    /**
+     * Returns a lightweight copy of the GUI that shares the components with it until they are accessed.
+     * <p>
+     * Implementations that do not support this return an exact {@link #copy()}.
+     *
+     * @see de.erethon.vignette.api.layout.Layout#instantiate(GUI)
+     * @return a lightweight copy of the GUI
+     */
+    protected T instantiate() {
+        return copy();
+    }
+
     @Override
     public AbstractGUI getContextualizedCopy(Player viewer) {
         if (!getContextModifiers().isEmpty()) {
-            AbstractGUI gui = copy();
+            AbstractGUI gui = instantiate();
             gui.setTransient(true);
             gui.applyAllContextModifiers(viewer);
             return gui;
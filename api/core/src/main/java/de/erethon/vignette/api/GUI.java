@@ -217,6 +217,7 @@ public interface GUI<T extends GUI<T>> extends Contextualized<T> {
      * Returns a Collection of the Players viewing the GUI.
      * <p>
      * To remove Players from this Collection, use {@link #close(Player...)}.
+     * The Collection is a copy, so changes to it do not affect the GUI and it may be iterated while Players are closed.
      *
      * @return the Players who are viewing the GUI
      */
@@ -14,7 +14,12 @@ package de.erethon.vignette.api;
 
 import de.erethon.vignette.util.VignetteModule;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import org.bukkit.plugin.Plugin;
 
@@ -25,7 +30,12 @@ import org.bukkit.plugin.Plugin;
  */
 public class VignetteAPI {
 
-    private static List<GUI> cache = new ArrayList<>();
+    private static Set<GUI> cache = ConcurrentHashMap.newKeySet();
+    private static Map<Class<?>, Set<GUI>> typeCache = new ConcurrentHashMap<>();
+    /**
+     * Guards changes to the registry against the creation of type buckets, so that no bucket misses a change.
+     */
+    private static final Object LOCK = new Object();
 
     private VignetteAPI() {
     }
@@ -65,13 +75,45 @@ public class VignetteAPI {
      * @return a List of the registered GUIs of a specific type
      */
     public static <T extends GUI> List<T> getCache(Class<T> type) {
-        List<T> guis = new ArrayList<>();
-        for (GUI gui : cache) {
-            if (type.isInstance(gui)) {
-                guis.add((T) gui);
+        return new ArrayList<>(getRegistered(type));
+    }
+
+    /**
+     * Returns an unmodifiable view of the registered GUIs.
+     * <p>
+     * The view is backed by the registry and is not copied.
+     *
+     * @return an unmodifiable view of the registered GUIs
+     */
+    public static Collection<GUI> getRegistered() {
+        return Collections.unmodifiableSet(cache);
+    }
+
+    /**
+     * Returns an unmodifiable view of the registered GUIs of a specific type.
+     * <p>
+     * The view is backed by the registry and is not copied.
+     *
+     * @param <T>  the type of the GUI implementation
+     * @param type the class of the GUI implementation
+     * @return an unmodifiable view of the registered GUIs of a specific type
+     */
+    public static <T extends GUI> Collection<T> getRegistered(Class<T> type) {
+        Set<GUI> guis = typeCache.get(type);
+        if (guis == null) {
+            synchronized (LOCK) {
+                guis = typeCache.computeIfAbsent(type, t -> {
+                    Set<GUI> bucket = ConcurrentHashMap.newKeySet();
+                    for (GUI gui : cache) {
+                        if (t.isInstance(gui)) {
+                            bucket.add(gui);
+                        }
+                    }
+                    return bucket;
+                });
             }
         }
-        return guis;
+        return (Collection<T>) Collections.unmodifiableSet(guis);
     }
 
     /**
@@ -80,8 +122,15 @@ public class VignetteAPI {
      * @param gui the GUI
      */
     public static void register(GUI gui) {
-        if (!isRegistered(gui)) {
-            cache.add(gui);
+        synchronized (LOCK) {
+            if (!cache.add(gui)) {
+                return;
+            }
+            typeCache.forEach((type, guis) -> {
+                if (type.isInstance(gui)) {
+                    guis.add(gui);
+                }
+            });
         }
     }
 
@@ -91,7 +140,12 @@ public class VignetteAPI {
      * @param gui the GUI
      */
     public static void unregister(GUI gui) {
-        cache.remove(gui);
+        synchronized (LOCK) {
+            if (!cache.remove(gui)) {
+                return;
+            }
+            typeCache.forEach((type, guis) -> guis.remove(gui));
+        }
     }
 
     /**
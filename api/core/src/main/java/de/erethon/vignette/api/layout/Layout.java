@@ -88,4 +88,18 @@ public interface Layout<T extends GUI> {
      */
     Layout<T> copy(T gui);
 
+    /**
+     * Returns a lightweight instance of the Layout to be attached to a {@link GUI#getContextualizedCopy(org.bukkit.entity.Player) contextualized copy}.
+     * <p>
+     * Unlike {@link #copy(GUI)}, {@link de.erethon.vignette.api.component.Component}s are shared with this Layout
+     * and only copied when they are accessed through the instance (copy-on-write).
+     * Changes to the Components of this Layout are visible in the instance until they are copied.
+     *
+     * @param gui the GUI that is to be attached to the instance
+     * @return a lightweight instance of the Layout
+     */
+    default Layout<T> instantiate(T gui) {
+        return copy(gui);
+    }
+
 }
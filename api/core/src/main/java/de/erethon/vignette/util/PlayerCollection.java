@@ -14,11 +14,17 @@ package de.erethon.vignette.util;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
@@ -29,7 +35,12 @@ import org.bukkit.entity.Player;
  */
 public class PlayerCollection implements Iterable<UUID> {
 
+    private static Set<PlayerCollection> onlineViews = Collections.newSetFromMap(new WeakHashMap<>());
+    private static boolean onlineViewUpdatesEnabled;
+
     private Collection<UUID> uuids = new HashSet<>();
+    private Map<UUID, Player> online;
+    private Collection<Player> onlineView;
 
     /**
      * Creates an empty PlayerCollection
@@ -37,6 +48,24 @@ public class PlayerCollection implements Iterable<UUID> {
     public PlayerCollection() {
     }
 
+    /**
+     * Creates an empty PlayerCollection.
+     * <p>
+     * If the online view is enabled, the collection keeps its online players cached
+     * so that {@link #getOnlinePlayers()} returns a live view instead of looking up each player.
+     * The cache is updated when players join or quit if the inventory module is initialized;
+     * otherwise, the players are looked up like without the online view.
+     *
+     * @param onlineView if the online view shall be enabled
+     */
+    public PlayerCollection(boolean onlineView) {
+        if (onlineView) {
+            online = new HashMap<>();
+            this.onlineView = Collections.unmodifiableCollection(online.values());
+            onlineViews.add(this);
+        }
+    }
+
     /**
      * @param players a collection of Player, OfflinePlayer, UUID, String (player names), String (uuids) and PlayerWrapper objects
      */
@@ -47,11 +76,7 @@ public class PlayerCollection implements Iterable<UUID> {
             } else if (player instanceof UUID) {
                 uuids.add((UUID) player);
             } else if (player instanceof String) {
-                if (isValidUUID((String) player)) {
-                    uuids.add(UUID.fromString((String) player));
-                } else {
-                    uuids.add(getUniqueIdFromName((String) player));
-                }
+                uuids.add(toUniqueId((String) player));
             } else if (player instanceof PlayerWrapper) {
                 uuids.add(((PlayerWrapper) player).getUniqueId());
             }
@@ -85,11 +110,23 @@ public class PlayerCollection implements Iterable<UUID> {
     public Collection<String> getNames() {
         Collection<String> filtered = new ArrayList<>();
         for (UUID uuid : uuids) {
-            filtered.add(Bukkit.getOfflinePlayer(uuid).getName());
+            filtered.add(PlayerNameCache.getName(uuid));
         }
         return filtered;
     }
 
+    /**
+     * Resolves the names without blocking the calling thread.
+     * <p>
+     * The future might be completed asynchronously.
+     *
+     * @see PlayerNameCache#resolveNames(Collection)
+     * @return a future of a List of player name Strings
+     */
+    public CompletableFuture<List<String>> getNamesAsync() {
+        return PlayerNameCache.resolveNames(new ArrayList<>(uuids)).thenApply(m -> new ArrayList<>(m.values()));
+    }
+
     /**
      * @param filter players to exclude
      * @return a collection of player name Strings
@@ -97,18 +134,25 @@ public class PlayerCollection implements Iterable<UUID> {
     public Collection<String> getNames(PlayerCollection filter) {
         Collection<String> filtered = new ArrayList<>();
         for (UUID uuid : uuids) {
-            String name = Bukkit.getOfflinePlayer(uuid).getName();
             if (!filter.contains(uuid)) {
-                filtered.add(name);
+                filtered.add(PlayerNameCache.getName(uuid));
             }
         }
         return filtered;
     }
 
     /**
+     * Returns the online players of the collection.
+     * <p>
+     * If the online view is enabled and updated by the inventory module, this is an unmodifiable live view; otherwise, a new collection.
+     * The live view must not be iterated while players are removed from the collection.
+     *
      * @return a collection of OnlinePlayers
      */
     public Collection<Player> getOnlinePlayers() {
+        if (onlineView != null && onlineViewUpdatesEnabled) {
+            return onlineView;
+        }
         Collection<Player> filtered = new ArrayList<>();
         for (UUID uuid : uuids) {
             Player player = Bukkit.getPlayer(uuid);
@@ -175,11 +219,7 @@ public class PlayerCollection implements Iterable<UUID> {
         } else if (player instanceof UUID) {
             return uuids.contains((UUID) player);
         } else if (player instanceof String) {
-            if (isValidUUID((String) player)) {
-                return uuids.contains(UUID.fromString((String) player));
-            } else {
-                return uuids.contains(getUniqueIdFromName((String) player));
-            }
+            return uuids.contains(toUniqueId((String) player));
         } else if (player instanceof PlayerWrapper) {
             return uuids.contains(((PlayerWrapper) player).getUniqueId());
         } else {
@@ -193,18 +233,20 @@ public class PlayerCollection implements Iterable<UUID> {
                 add(object);
             }
             return true;
+        } else if (player instanceof Player) {
+            boolean added = uuids.add(((Player) player).getUniqueId());
+            if (added && online != null && ((Player) player).isOnline()) {
+                online.put(((Player) player).getUniqueId(), (Player) player);
+            }
+            return added;
         } else if (player instanceof OfflinePlayer) {
-            return uuids.add(((OfflinePlayer) player).getUniqueId());
+            return addUniqueId(((OfflinePlayer) player).getUniqueId());
         } else if (player instanceof UUID) {
-            return uuids.add((UUID) player);
+            return addUniqueId((UUID) player);
         } else if (player instanceof String) {
-            if (isValidUUID((String) player)) {
-                return uuids.add(UUID.fromString((String) player));
-            } else {
-                return uuids.add(getUniqueIdFromName((String) player));
-            }
+            return addUniqueId(toUniqueId((String) player));
         } else if (player instanceof PlayerWrapper) {
-            return uuids.add(((PlayerWrapper) player).getUniqueId());
+            return addUniqueId(((PlayerWrapper) player).getUniqueId());
         } else {
             return false;
         }
@@ -217,7 +259,27 @@ public class PlayerCollection implements Iterable<UUID> {
     }
 
     public void addAll(PlayerCollection players) {
-        uuids.addAll(players.uuids);
+        if (online == null) {
+            uuids.addAll(players.uuids);
+        } else {
+            players.uuids.forEach(this::addUniqueId);
+        }
+    }
+
+    /**
+     * Adds all UUIDs from a List of Strings created by {@link #serialize()}.
+     * <p>
+     * Strings that are not valid UUIDs are ignored; player names are not resolved.
+     *
+     * @param serialized a List of UUIDs as Strings
+     */
+    public void addAllSerialized(List<String> serialized) {
+        for (String string : serialized) {
+            UUID uuid = parseUniqueId(string);
+            if (uuid != null) {
+                addUniqueId(uuid);
+            }
+        }
     }
 
     public void addAll(Object[] players) {
@@ -228,17 +290,13 @@ public class PlayerCollection implements Iterable<UUID> {
 
     public boolean remove(Object player) {
         if (player instanceof OfflinePlayer) {
-            return uuids.remove(((OfflinePlayer) player).getUniqueId());
+            return removeUniqueId(((OfflinePlayer) player).getUniqueId());
         } else if (player instanceof UUID) {
-            return uuids.remove((UUID) player);
+            return removeUniqueId((UUID) player);
         } else if (player instanceof String) {
-            if (isValidUUID((String) player)) {
-                return uuids.remove(UUID.fromString((String) player));
-            } else {
-                return uuids.remove(getUniqueIdFromName((String) player));
-            }
+            return removeUniqueId(toUniqueId((String) player));
         } else if (player instanceof PlayerWrapper) {
-            return uuids.remove(((PlayerWrapper) player).getUniqueId());
+            return removeUniqueId(((PlayerWrapper) player).getUniqueId());
         } else {
             return false;
         }
@@ -252,6 +310,9 @@ public class PlayerCollection implements Iterable<UUID> {
 
     public void removeAll(PlayerCollection players) {
         uuids.removeAll(players.uuids);
+        if (online != null) {
+            online.keySet().removeAll(players.uuids);
+        }
     }
 
     public void removeAll(Object[] players) {
@@ -262,6 +323,9 @@ public class PlayerCollection implements Iterable<UUID> {
 
     public void clear() {
         uuids.clear();
+        if (online != null) {
+            online.clear();
+        }
     }
 
     public int size() {
@@ -270,7 +334,30 @@ public class PlayerCollection implements Iterable<UUID> {
 
     @Override
     public Iterator<UUID> iterator() {
-        return uuids.iterator();
+        if (online == null) {
+            return uuids.iterator();
+        }
+        Iterator<UUID> iterator = uuids.iterator();
+        return new Iterator<UUID>() {
+            private UUID current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public UUID next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                online.remove(current);
+            }
+        };
     }
 
     @Override
@@ -287,14 +374,99 @@ public class PlayerCollection implements Iterable<UUID> {
      * @return a List of Strings that can easily be used in a config
      */
     public List<String> serialize() {
-        List<String> filtered = new ArrayList<>();
+        List<String> filtered = new ArrayList<>(uuids.size());
         for (UUID uuid : uuids) {
             filtered.add(uuid.toString());
         }
         return filtered;
     }
 
+    /**
+     * Returns if the online view is enabled.
+     *
+     * @return if the online view is enabled
+     */
+    public boolean isOnlineViewEnabled() {
+        return online != null;
+    }
+
+    private boolean addUniqueId(UUID uuid) {
+        boolean added = uuids.add(uuid);
+        if (added && online != null) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                online.put(uuid, player);
+            }
+        }
+        return added;
+    }
+
+    private boolean removeUniqueId(UUID uuid) {
+        if (online != null) {
+            online.remove(uuid);
+        }
+        return uuids.remove(uuid);
+    }
+
+    /**
+     * Marks the online views as updated when players join or quit, so that {@link #getOnlinePlayers()} may return them.
+     *
+     * @deprecated for internal use only
+     */
+    @Deprecated
+    public static void enableOnlineViewUpdates() {
+        onlineViewUpdatesEnabled = true;
+    }
+
+    /**
+     * Updates the online view of all collections that contain the player.
+     *
+     * @param player the player who joined or quit
+     * @param online true if the player joined, false if he quit
+     * @deprecated for internal use only
+     */
+    @Deprecated
+    public static void updateOnlineViews(Player player, boolean online) {
+        UUID uuid = player.getUniqueId();
+        for (PlayerCollection collection : onlineViews) {
+            if (!collection.uuids.contains(uuid)) {
+                continue;
+            }
+            if (online) {
+                collection.online.put(uuid, player);
+            } else {
+                collection.online.remove(uuid);
+            }
+        }
+    }
+
     /* Util methods */
+    /**
+     * Creates a PlayerCollection from player names and UUID Strings without blocking the calling thread.
+     * <p>
+     * The future might be completed asynchronously.
+     *
+     * @see PlayerNameCache#resolveUniqueIds(Collection)
+     * @param players a collection of String (player names) and String (uuids) objects
+     * @return a future of the PlayerCollection
+     */
+    public static CompletableFuture<PlayerCollection> fromNamesAsync(Collection<String> players) {
+        PlayerCollection collection = new PlayerCollection();
+        List<String> names = new ArrayList<>();
+        for (String player : players) {
+            UUID uuid = parseUniqueId(player);
+            if (uuid != null) {
+                collection.uuids.add(uuid);
+            } else {
+                names.add(player);
+            }
+        }
+        return PlayerNameCache.resolveUniqueIds(names).thenApply(m -> {
+            collection.uuids.addAll(m.values());
+            return collection;
+        });
+    }
+
     /**
      * Returns the unique ID of the player that has the name
      *
@@ -302,7 +474,7 @@ public class PlayerCollection implements Iterable<UUID> {
      * @return the player's UUID
      */
     public static UUID getUniqueIdFromName(String name) {
-        return Bukkit.getServer().getOfflinePlayer(name).getUniqueId();
+        return PlayerNameCache.getUniqueId(name);
     }
 
     /**
@@ -312,7 +484,49 @@ public class PlayerCollection implements Iterable<UUID> {
      * @return if the String can be converted to a UUID
      */
     public static boolean isValidUUID(String string) {
-        return string.matches("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+        return parseUniqueId(string) != null;
+    }
+
+    /**
+     * Parses a UUID in its lower case String representation as returned by {@link java.util.UUID#toString()}.
+     * <p>
+     * Unlike {@link java.util.UUID#fromString(String)}, this does not throw an exception if the String is invalid.
+     *
+     * @param string a UUID as a String
+     * @return the UUID; null if the String is not a valid UUID
+     */
+    public static UUID parseUniqueId(String string) {
+        if (string == null || string.length() != 36
+                || string.charAt(8) != '-' || string.charAt(13) != '-' || string.charAt(18) != '-' || string.charAt(23) != '-') {
+            return null;
+        }
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        for (int i = 0; i < 36; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            char c = string.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                return null;
+            }
+            if (i < 18) {
+                mostSigBits = mostSigBits << 4 | digit;
+            } else {
+                leastSigBits = leastSigBits << 4 | digit;
+            }
+        }
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static UUID toUniqueId(String player) {
+        UUID uuid = parseUniqueId(player);
+        return uuid != null ? uuid : getUniqueIdFromName(player);
     }
 
 }
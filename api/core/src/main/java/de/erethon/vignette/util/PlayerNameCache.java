@@ -0,0 +1,190 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import org.bukkit.Bukkit;
+
+/**
+ * A bounded cache of player names and unique IDs.
+ * <p>
+ * Lookups that miss the cache go through {@link org.bukkit.Bukkit#getOfflinePlayer(String)} or
+ * {@link org.bukkit.Bukkit#getOfflinePlayer(java.util.UUID)}, which might block.
+ * The asynchronous methods resolve all misses of one call in a single task off the main thread.
+ * Their futures are completed on that thread, so results must be handed back to the main thread
+ * before they are used with the Bukkit API.
+ *
+ * @author Daniel Saukel
+ */
+public class PlayerNameCache {
+
+    /**
+     * The default maximum amount of entries per direction.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private static Map<String, UUID> uniqueIds = Collections.synchronizedMap(new BoundedMap<>());
+    private static Map<UUID, String> names = Collections.synchronizedMap(new BoundedMap<>());
+    private static Executor executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Vignette Name Resolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PlayerNameCache() {
+    }
+
+    /**
+     * Returns the maximum amount of names and unique IDs that are cached.
+     *
+     * @return the maximum amount of names and unique IDs that are cached
+     */
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum amount of names and unique IDs that are cached.
+     * <p>
+     * The least recently used entries are evicted first.
+     *
+     * @param size the maximum amount of names and unique IDs that are cached
+     */
+    public static void setMaximumSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative");
+        }
+        maximumSize = size;
+    }
+
+    /**
+     * Caches a name and unique ID pair.
+     *
+     * @param uuid the unique ID
+     * @param name the name
+     */
+    public static void put(UUID uuid, String name) {
+        if (uuid == null || name == null) {
+            return;
+        }
+        uniqueIds.put(name.toLowerCase(Locale.ROOT), uuid);
+        names.put(uuid, name);
+    }
+
+    /**
+     * Returns the unique ID of the player that has the name.
+     * <p>
+     * Might block if the name is not cached.
+     *
+     * @param name a player's name
+     * @return the player's UUID
+     */
+    public static UUID getUniqueId(String name) {
+        UUID uuid = uniqueIds.get(name.toLowerCase(Locale.ROOT));
+        if (uuid == null) {
+            uuid = Bukkit.getOfflinePlayer(name).getUniqueId();
+            put(uuid, name);
+        }
+        return uuid;
+    }
+
+    /**
+     * Returns the name of the player that has the unique ID.
+     * <p>
+     * Might block if the unique ID is not cached.
+     *
+     * @param uuid a player's UUID
+     * @return the player's name; null if it is unknown
+     */
+    public static String getName(UUID uuid) {
+        String name = names.get(uuid);
+        if (name == null) {
+            name = Bukkit.getOfflinePlayer(uuid).getName();
+            put(uuid, name);
+        }
+        return name;
+    }
+
+    /**
+     * Resolves the unique IDs of the players that have the names.
+     * <p>
+     * Cached names are resolved immediately; all others are resolved in one asynchronous task.
+     *
+     * @param names player names
+     * @return a future of a Map of the names to the unique IDs in the iteration order of the names
+     */
+    public static CompletableFuture<Map<String, UUID>> resolveUniqueIds(Collection<String> names) {
+        Map<String, UUID> resolved = new LinkedHashMap<>();
+        boolean complete = true;
+        for (String name : names) {
+            UUID uuid = uniqueIds.get(name.toLowerCase(Locale.ROOT));
+            resolved.put(name, uuid);
+            complete &= uuid != null;
+        }
+        if (complete) {
+            return CompletableFuture.completedFuture(resolved);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            resolved.replaceAll((name, uuid) -> uuid != null ? uuid : getUniqueId(name));
+            return resolved;
+        }, executor);
+    }
+
+    /**
+     * Resolves the names of the players that have the unique IDs.
+     * <p>
+     * Cached unique IDs are resolved immediately; all others are resolved in one asynchronous task.
+     *
+     * @param uuids player unique IDs
+     * @return a future of a Map of the unique IDs to the names in the iteration order of the unique IDs
+     */
+    public static CompletableFuture<Map<UUID, String>> resolveNames(Collection<UUID> uuids) {
+        Map<UUID, String> resolved = new LinkedHashMap<>();
+        boolean complete = true;
+        for (UUID uuid : uuids) {
+            String name = names.get(uuid);
+            resolved.put(uuid, name);
+            complete &= name != null;
+        }
+        if (complete) {
+            return CompletableFuture.completedFuture(resolved);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            resolved.replaceAll((uuid, name) -> name != null ? name : getName(uuid));
+            return resolved;
+        }, executor);
+    }
+
+    private static class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+
+        BoundedMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maximumSize;
+        }
+
+    }
+
+}
@@ -12,12 +12,26 @@
  */
 package de.erethon.vignette.api;
 
+import de.erethon.vignette.api.action.MoveItemStackBatchListener;
 import de.erethon.vignette.api.action.MoveItemStackListener;
+import de.erethon.vignette.api.component.Component;
 import de.erethon.vignette.api.component.InventoryButton;
 import de.erethon.vignette.api.layout.InventoryLayout;
 import de.erethon.vignette.api.layout.Layout;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 
 /**
@@ -27,7 +41,16 @@ import org.bukkit.inventory.ItemStack;
  */
 public abstract class InventoryGUI extends AbstractGUI<InventoryGUI> {
 
+    private static boolean updateSchedulingEnabled;
+    private static Set<InventoryGUI> dirtyGUIs = new LinkedHashSet<>();
+    private static Set<InventoryButton> dirtyButtons = Collections.newSetFromMap(new IdentityHashMap<>());
+
     private MoveItemStackListener moveItemStackListener;
+    private MoveItemStackBatchListener moveItemStackBatchListener;
+    private int moveItemStackBatchWindow = 1;
+    private BitSet dirtySlots;
+    private boolean dirty;
+    private Set<UUID> opening = new HashSet<>();
 
     protected InventoryGUI() {
         super();
@@ -41,8 +64,14 @@ public abstract class InventoryGUI extends AbstractGUI<InventoryGUI> {
     }
 
     protected InventoryGUI(InventoryGUI gui) {
-        super(gui);
+        this(gui, false);
+    }
+
+    protected InventoryGUI(InventoryGUI gui, boolean instance) {
+        super(gui, instance);
         moveItemStackListener = gui.moveItemStackListener;
+        moveItemStackBatchListener = gui.moveItemStackBatchListener;
+        moveItemStackBatchWindow = gui.moveItemStackBatchWindow;
     }
 
     @Override
@@ -75,6 +104,65 @@ public abstract class InventoryGUI extends AbstractGUI<InventoryGUI> {
         viewers.remove(player);
     }
 
+    /**
+     * Adds a player to the viewers list.
+     *
+     * @param player the player to add to the viewers list
+     */
+    protected void addViewer(Player player) {
+        viewers.add(player);
+    }
+
+    /**
+     * Opens an {@link org.bukkit.inventory.Inventory} created from this GUI for a viewer.
+     * <p>
+     * If the viewer already has an Inventory created from this GUI open, it is closed without removing the viewer.
+     *
+     * @param viewer    the viewer
+     * @param inventory the Inventory
+     */
+    protected void openInventory(Player viewer, Inventory inventory) {
+        opening.add(viewer.getUniqueId());
+        try {
+            viewer.openInventory(inventory);
+        } finally {
+            opening.remove(viewer.getUniqueId());
+        }
+    }
+
+    /**
+     * Returns if an {@link org.bukkit.inventory.Inventory} created from this GUI is being opened for the player,
+     * so that closing the one the player had open before does not make the player stop viewing this GUI.
+     *
+     * @param player the player
+     * @return if an Inventory created from this GUI is being opened for the player
+     * @deprecated for internal use only
+     */
+    @Deprecated
+    public boolean isOpening(Player player) {
+        return opening.contains(player.getUniqueId());
+    }
+
+    /**
+     * Returns the registered GUI that created the {@link org.bukkit.inventory.Inventory}.
+     * <p>
+     * The GUI is resolved through the {@link InventoryGUIHolder} of the Inventory, so inventories that do not belong to Vignette are rejected without a lookup.
+     *
+     * @param inventory the Inventory
+     * @return the registered GUI that created the Inventory; null if there is none
+     */
+    public static InventoryGUI getByInventory(Inventory inventory) {
+        if (inventory == null) {
+            return null;
+        }
+        InventoryHolder holder = inventory.getHolder();
+        if (holder instanceof InventoryGUIHolder) {
+            InventoryGUI gui = ((InventoryGUIHolder) holder).getGUI();
+            return gui.isRegistered() ? gui : null;
+        }
+        return null;
+    }
+
     /**
      * Returns the first InventoryButton which represents the {@link org.bukkit.inventory.ItemStack}.
      *
@@ -98,6 +186,290 @@ public abstract class InventoryGUI extends AbstractGUI<InventoryGUI> {
         return ((InventoryLayout) getLayout()).getButton(itemStack, contextPlayer);
     }
 
+    /**
+     * Returns the InventoryButton in a slot of the inventory the player is viewing.
+     * <p>
+     * Unlike {@link #getButton(org.bukkit.inventory.ItemStack)}, this does not compare ItemStacks,
+     * so buttons that look the same are still told apart.
+     * The slot might hold a different item if the button was taken, which can be checked with {@link InventoryButton#is(ItemStack, Player)}.
+     *
+     * @param viewer the Player who is viewing the GUI
+     * @param slot   the slot in the viewed inventory
+     * @return the InventoryButton in the slot; null if there is none
+     * @see #getRenderedButton(Inventory, int)
+     */
+    public InventoryButton getButton(Player viewer, int slot) {
+        return ((InventoryLayout) getLayout()).getButton(0, slot);
+    }
+
+    /**
+     * Returns the InventoryButton that was last rendered to a slot of an inventory created from this GUI if the slot still holds it.
+     * <p>
+     * Unlike {@link #getButton(Player, int)}, this returns the button the viewer actually sees.
+     * The ItemStack in the slot is compared with the exact one the button was rendered to, so the button is neither copied nor rendered again.
+     *
+     * @param inventory the Inventory
+     * @param slot      the slot in the Inventory
+     * @return the InventoryButton rendered to the slot; null if there is none or if the slot holds a different item now
+     */
+    public InventoryButton getRenderedButton(Inventory inventory, int slot) {
+        if (!(inventory.getHolder() instanceof InventoryGUIHolder) || slot < 0 || slot >= inventory.getSize()) {
+            return null;
+        }
+        InventoryGUIHolder holder = (InventoryGUIHolder) inventory.getHolder();
+        Component<?, InventoryGUI> component = holder.getRenderedComponent(slot);
+        if (!(component instanceof InventoryButton) || !Objects.equals(getItem(inventory, slot), holder.getRenderedItemStack(slot))) {
+            return null;
+        }
+        return (InventoryButton) component;
+    }
+
+    /**
+     * Shows the current state of the layout to all viewers without reopening the inventory.
+     * <p>
+     * The ItemStack each viewer is supposed to see is compared to the one in the viewer's open inventory,
+     * and only slots that differ are set. A slot that still holds what was last rendered to it but has no component anymore is cleared.
+     * Items that a viewer put into the GUI are never replaced or cleared.
+     * A slot that is empty because a {@link InventoryButton#isStealable() stealable} button was taken is only filled if another component was set to it.
+     * Inventories that nobody views are updated the same way when they are opened again.
+     * <p>
+     * Viewers of a {@link #getContextualizedCopy(Player) contextualized copy} are viewers of the copy that {@link #open(Player)} returned,
+     * so the copy needs to be refreshed.
+     */
+    public void refresh() {
+        for (Player viewer : getOnlineViewers()) {
+            Inventory inventory = getViewedInventory(viewer);
+            if (inventory == null) {
+                continue;
+            }
+            int page = getViewedPage(viewer);
+            int size = Math.min(getSize(), inventory.getSize());
+            for (int slot = 0; slot < size; slot++) {
+                update(viewer, inventory, page, slot);
+            }
+        }
+        invalidateHiddenInventories();
+    }
+
+    /**
+     * Shows the current state of a slot to all viewers without reopening the inventory.
+     *
+     * @param slot the slot in the viewed inventory
+     * @see #refresh()
+     */
+    public void update(int slot) {
+        for (Player viewer : getOnlineViewers()) {
+            Inventory inventory = getViewedInventory(viewer);
+            if (inventory != null && slot < inventory.getSize()) {
+                update(viewer, inventory, getViewedPage(viewer), slot);
+            }
+        }
+        invalidateHiddenInventories();
+    }
+
+    /**
+     * Marks a slot of the layout as changed.
+     * <p>
+     * If the inventory module is loaded, all changes marked within a tick are shown to the viewers together at the end of the tick,
+     * so that multiple changes to the same slot result in only one update.
+     * {@link de.erethon.vignette.api.layout.InventoryLayout}s call this automatically when a component is set or removed.
+     *
+     * @param page the page of the layout; 0 if the GUI is not paginated
+     * @param slot the slot at the page
+     */
+    public void markDirty(int page, int slot) {
+        if (!updateSchedulingEnabled || viewers.size() == 0) {
+            invalidateHiddenInventories();
+            return;
+        }
+        if (dirtySlots == null) {
+            dirtySlots = new BitSet();
+        }
+        dirtySlots.set(page * getSize() + slot);
+        dirtyGUIs.add(this);
+    }
+
+    /**
+     * Marks the whole layout as changed.
+     *
+     * @see #markDirty(int, int)
+     */
+    public void markDirty() {
+        if (!updateSchedulingEnabled || viewers.size() == 0) {
+            invalidateHiddenInventories();
+            return;
+        }
+        dirty = true;
+        dirtyGUIs.add(this);
+    }
+
+    /**
+     * Marks a button as changed so that it is updated in all open inventories that show it at the end of the tick.
+     *
+     * @param button the button
+     * @deprecated for internal use only; {@link InventoryButton} calls this automatically when it is changed
+     */
+    @Deprecated
+    public static void markDirty(InventoryButton button) {
+        if (updateSchedulingEnabled) {
+            dirtyButtons.add(button);
+        }
+    }
+
+    /**
+     * Enables collecting changes to open GUIs in order to {@link #flushUpdates() flush} them once per tick.
+     *
+     * @deprecated for internal use only
+     */
+    @Deprecated
+    public static void enableUpdateScheduling() {
+        updateSchedulingEnabled = true;
+    }
+
+    /**
+     * Shows all changes marked since the last call to the viewers.
+     *
+     * @deprecated for internal use only
+     */
+    @Deprecated
+    public static void flushUpdates() {
+        if (!dirtyGUIs.isEmpty()) {
+            List<InventoryGUI> guis = new ArrayList<>(dirtyGUIs);
+            dirtyGUIs.clear();
+            for (InventoryGUI gui : guis) {
+                BitSet slots = gui.dirtySlots;
+                gui.dirtySlots = null;
+                if (gui.dirty) {
+                    gui.dirty = false;
+                    gui.refresh();
+                } else if (slots != null) {
+                    gui.update(slots);
+                }
+            }
+        }
+        if (!dirtyButtons.isEmpty()) {
+            Set<InventoryButton> buttons = dirtyButtons;
+            dirtyButtons = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (InventoryGUI gui : VignetteAPI.getRegistered(InventoryGUI.class)) {
+                if (gui.viewers.size() != 0) {
+                    gui.update(buttons);
+                }
+            }
+        }
+    }
+
+    private void update(BitSet slots) {
+        int size = getSize();
+        for (Player viewer : getOnlineViewers()) {
+            Inventory inventory = getViewedInventory(viewer);
+            if (inventory == null) {
+                continue;
+            }
+            int page = getViewedPage(viewer);
+            int end = Math.min((page + 1) * size, page * size + inventory.getSize());
+            for (int i = slots.nextSetBit(page * size); i >= 0 && i < end; i = slots.nextSetBit(i + 1)) {
+                update(viewer, inventory, page, i - page * size);
+            }
+        }
+        invalidateHiddenInventories();
+    }
+
+    private void update(Set<InventoryButton> buttons) {
+        InventoryLayout layout = (InventoryLayout) getLayout();
+        boolean updated = false;
+        for (Player viewer : getOnlineViewers()) {
+            Inventory inventory = getViewedInventory(viewer);
+            if (inventory == null) {
+                continue;
+            }
+            int page = getViewedPage(viewer);
+            int size = Math.min(getSize(), inventory.getSize());
+            for (int slot = 0; slot < size; slot++) {
+                if (buttons.contains(layout.peekComponent(page, slot))) {
+                    update(viewer, inventory, page, slot);
+                    updated = true;
+                }
+            }
+        }
+        if (updated) {
+            invalidateHiddenInventories();
+        }
+    }
+
+    /**
+     * Sets the ItemStack of a slot in an inventory the viewer has open if it differs from the one the component on the page is rendered to.
+     * <p>
+     * If the slot does not hold what was last rendered to it, the item was taken or added by a player and is left alone,
+     * unless the slot is empty and another component was set to it since.
+     *
+     * @param viewer    the viewer
+     * @param inventory the inventory the viewer has open
+     * @param page      the page of the layout; 0 if the GUI is not paginated
+     * @param slot      the slot at the page
+     */
+    protected void update(Player viewer, Inventory inventory, int page, int slot) {
+        Component<?, InventoryGUI> component = ((InventoryLayout) getLayout()).peekComponent(page, slot);
+        ItemStack current = getItem(inventory, slot);
+        InventoryGUIHolder holder = inventory.getHolder() instanceof InventoryGUIHolder ? (InventoryGUIHolder) inventory.getHolder() : null;
+        if (holder != null && !Objects.equals(current, holder.getRenderedItemStack(slot))
+                && (current != null || holder.getRenderedComponent(slot) == component)) {
+            return;
+        }
+        ItemStack expected = component instanceof InventoryButton ? ((InventoryButton) component).createItemStack(viewer) : null;
+        if (!Objects.equals(expected, current)) {
+            inventory.setItem(slot, expected);
+        }
+        if (holder != null) {
+            holder.setRendered(slot, component, expected);
+        }
+    }
+
+    /**
+     * Returns if a slot of an inventory created from this GUI holds what was last rendered to it.
+     *
+     * @param inventory the inventory
+     * @param slot      the slot
+     * @return if the slot holds what was last rendered to it; false if the inventory does not keep track of it
+     */
+    protected boolean isRendered(Inventory inventory, int slot) {
+        if (!(inventory.getHolder() instanceof InventoryGUIHolder)) {
+            return false;
+        }
+        return Objects.equals(getItem(inventory, slot), ((InventoryGUIHolder) inventory.getHolder()).getRenderedItemStack(slot));
+    }
+
+    private static ItemStack getItem(Inventory inventory, int slot) {
+        ItemStack itemStack = inventory.getItem(slot);
+        return itemStack != null && itemStack.getType() == Material.AIR ? null : itemStack;
+    }
+
+    /**
+     * Returns the inventory created from this GUI that a viewer has open.
+     *
+     * @param viewer the viewer
+     * @return the inventory created from this GUI that the viewer has open; null if the viewer does not have one open
+     */
+    protected Inventory getViewedInventory(Player viewer) {
+        Inventory inventory = viewer.getOpenInventory().getTopInventory();
+        return getByInventory(inventory) == this ? inventory : null;
+    }
+
+    /**
+     * Handles inventories created from this GUI that nobody views and that were therefore not updated, e.g. by discarding them or marking them as outdated.
+     */
+    protected void invalidateHiddenInventories() {
+    }
+
+    /**
+     * Returns the page of the layout that a viewer sees.
+     *
+     * @param viewer the viewer
+     * @return the page of the layout that the viewer sees
+     */
+    protected int getViewedPage(Player viewer) {
+        return 0;
+    }
+
     /**
      * Returns the MoveItemStackListener attached to this GUI.
      *
@@ -116,6 +488,47 @@ public abstract class InventoryGUI extends AbstractGUI<InventoryGUI> {
         moveItemStackListener = listener;
     }
 
+    /**
+     * Returns the MoveItemStackBatchListener attached to this GUI.
+     *
+     * @return the MoveItemStackBatchListener attached to this GUI
+     */
+    public MoveItemStackBatchListener getMoveItemStackBatchListener() {
+        return moveItemStackBatchListener;
+    }
+
+    /**
+     * Sets the MoveItemStackBatchListener attached to this GUI.
+     *
+     * @param listener the listener to set
+     */
+    public void setMoveItemStackBatchListener(MoveItemStackBatchListener listener) {
+        moveItemStackBatchListener = listener;
+    }
+
+    /**
+     * Returns the amount of ticks the changes to this GUI are collected for before they are passed to the {@link #getMoveItemStackBatchListener() MoveItemStackBatchListener}.
+     *
+     * @return the amount of ticks the changes to this GUI are collected for
+     */
+    public int getMoveItemStackBatchWindow() {
+        return moveItemStackBatchWindow;
+    }
+
+    /**
+     * Sets the amount of ticks the changes to this GUI are collected for before they are passed to the {@link #getMoveItemStackBatchListener() MoveItemStackBatchListener}.
+     * <p>
+     * The window starts with the first change after the last batch.
+     *
+     * @param ticks the amount of ticks; must be positive
+     */
+    public void setMoveItemStackBatchWindow(int ticks) {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("The batch window must be at least one tick");
+        }
+        moveItemStackBatchWindow = ticks;
+    }
+
     /**
      * Checks if the GUI is a representation of an {@link org.bukkit.inventory.Inventory}.
      *
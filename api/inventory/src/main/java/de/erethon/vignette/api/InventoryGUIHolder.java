@@ -0,0 +1,100 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette.api;
+
+import de.erethon.vignette.api.component.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * The {@link org.bukkit.inventory.InventoryHolder} of inventories created from an {@link InventoryGUI}.
+ * <p>
+ * It refers to the GUI instance and the page the inventory shows, so that the GUI can be resolved from the inventory without a lookup
+ * and inventories that do not belong to Vignette can be told apart with an instanceof check.
+ *
+ * @author Daniel Saukel
+ */
+public class InventoryGUIHolder implements InventoryHolder {
+
+    private InventoryGUI gui;
+    private int page;
+    private Inventory inventory;
+    private Component<?, InventoryGUI>[] renderedComponents;
+    private ItemStack[] renderedItemStacks;
+
+    /**
+     * Creates a chest inventory held by a new holder.
+     *
+     * @param gui   the GUI the inventory is created from
+     * @param page  the page the inventory shows; 0 if the GUI is not paginated
+     * @param size  the size of the inventory
+     * @param title the title of the inventory
+     */
+    public InventoryGUIHolder(InventoryGUI gui, int page, int size, String title) {
+        this.gui = gui;
+        this.page = page;
+        inventory = Bukkit.createInventory(this, size, title);
+        renderedComponents = new Component[size];
+        renderedItemStacks = new ItemStack[size];
+    }
+
+    /**
+     * Returns the GUI the inventory was created from.
+     *
+     * @return the GUI the inventory was created from
+     */
+    public InventoryGUI getGUI() {
+        return gui;
+    }
+
+    /**
+     * Returns the page the inventory shows.
+     *
+     * @return the page the inventory shows; 0 if the GUI is not paginated
+     */
+    public int getPage() {
+        return page;
+    }
+
+    void setPage(int page) {
+        this.page = page;
+    }
+
+    Component<?, InventoryGUI> getRenderedComponent(int slot) {
+        return renderedComponents[slot];
+    }
+
+    ItemStack getRenderedItemStack(int slot) {
+        return renderedItemStacks[slot];
+    }
+
+    /**
+     * Remembers what was put into a slot so that items that players took or added can be told apart from it later.
+     *
+     * @param slot      the slot
+     * @param component the component the slot shows; null if it has none
+     * @param itemStack the ItemStack the component was rendered to; null if it has none
+     */
+    void setRendered(int slot, Component<?, InventoryGUI> component, ItemStack itemStack) {
+        renderedComponents[slot] = component;
+        renderedItemStacks[slot] = itemStack;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+}
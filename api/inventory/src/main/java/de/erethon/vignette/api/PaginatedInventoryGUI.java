@@ -17,12 +17,17 @@ import de.erethon.vignette.api.component.InventoryButton;
 import de.erethon.vignette.api.layout.PaginatedInventoryLayout;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import org.bukkit.Bukkit;
+import java.util.Objects;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 
 /**
  * A chest inventory based paginated GUI.
@@ -32,15 +37,19 @@ import org.bukkit.inventory.Inventory;
 public class PaginatedInventoryGUI extends InventoryGUI implements Paginated<InventoryGUI> {
 
     /**
-     * @deprecated for internal use only
+     * The default maximum amount of page inventories that are kept per GUI.
      */
-    @Deprecated
-    public static Player exclude;
+    public static final int DEFAULT_PAGE_CACHE_SIZE = 8;
 
-    private List<Inventory> openedInventories = new ArrayList<>();
+    private Map<Integer, Inventory> openedInventories = new LinkedHashMap<>(16, 0.75f, true);
+    private Map<Inventory, Integer> pageByInventory = new IdentityHashMap<>();
+    private BitSet stalePages = new BitSet();
+    private int pageCacheSize = DEFAULT_PAGE_CACHE_SIZE;
     private List<String> titles = new ArrayList<>();
     private Map<Player, Integer> openedPage = new HashMap<>();
     private boolean componentMoveUpEnabled;
+    private boolean adjacentPagePrefetchEnabled;
+    private boolean pageSwapEnabled;
 
     public PaginatedInventoryGUI() {
         super();
@@ -54,7 +63,16 @@ public class PaginatedInventoryGUI extends InventoryGUI implements Paginated<Inv
     }
 
     public PaginatedInventoryGUI(PaginatedInventoryGUI gui) {
-        super(gui);
+        this(gui, false);
+    }
+
+    protected PaginatedInventoryGUI(PaginatedInventoryGUI gui, boolean instance) {
+        super(gui, instance);
+        titles = new ArrayList<>(gui.titles);
+        componentMoveUpEnabled = gui.componentMoveUpEnabled;
+        adjacentPagePrefetchEnabled = gui.adjacentPagePrefetchEnabled;
+        pageSwapEnabled = gui.pageSwapEnabled;
+        pageCacheSize = gui.pageCacheSize;
     }
 
     @Override
@@ -91,6 +109,75 @@ public class PaginatedInventoryGUI extends InventoryGUI implements Paginated<Inv
         componentMoveUpEnabled = moveUp;
     }
 
+    /**
+     * Returns if the inventories of the pages next to the opened one are created in advance.
+     *
+     * @return if the inventories of the pages next to the opened one are created in advance
+     */
+    public boolean isAdjacentPagePrefetchEnabled() {
+        return adjacentPagePrefetchEnabled;
+    }
+
+    /**
+     * Sets if the inventories of the pages next to the opened one shall be created in advance.
+     * <p>
+     * Page inventories are created when they are opened for the first time.
+     * Prefetching makes switching to the next or previous page cheaper at the cost of opening the GUI.
+     *
+     * @param prefetch if the inventories of the pages next to the opened one shall be created in advance
+     */
+    public void setAdjacentPagePrefetchEnabled(boolean prefetch) {
+        adjacentPagePrefetchEnabled = prefetch;
+    }
+
+    /**
+     * Returns if viewers switch pages by rewriting the inventory they have open instead of opening the inventory of the other page.
+     *
+     * @return if viewers switch pages by rewriting the inventory they have open
+     */
+    public boolean isPageSwapEnabled() {
+        return pageSwapEnabled;
+    }
+
+    /**
+     * Sets if viewers shall switch pages by rewriting the inventory they have open instead of opening the inventory of the other page.
+     * <p>
+     * Only the slots that differ between the pages are set, and the window is not closed and reopened.
+     * The inventory of the other page is opened anyway if the pages have different titles
+     * if another viewer sees the current or the other page
+     * or if the current inventory holds items that were taken or added by a player, as they belong to the current page.
+     *
+     * @param swap if viewers shall switch pages by rewriting the inventory they have open
+     */
+    public void setPageSwapEnabled(boolean swap) {
+        pageSwapEnabled = swap;
+    }
+
+    /**
+     * Returns the maximum amount of page inventories that are kept.
+     *
+     * @return the maximum amount of page inventories that are kept
+     */
+    public int getPageCacheSize() {
+        return pageCacheSize;
+    }
+
+    /**
+     * Sets the maximum amount of page inventories that are kept.
+     * <p>
+     * If more pages are opened, the least recently opened ones that are not viewed by anyone are discarded and recreated when they are opened again.
+     * Pages that hold items that were taken or added by a player are kept regardless, so that the items are not lost.
+     *
+     * @param size the maximum amount of page inventories that are kept; must be positive
+     */
+    public void setPageCacheSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The page cache size must be positive");
+        }
+        pageCacheSize = size;
+        evictPages(pageCacheSize);
+    }
+
     @Override
     public PaginatedInventoryGUI open(int page, Player player) {
         if (!isRegistered()) {
@@ -102,26 +189,72 @@ public class PaginatedInventoryGUI extends InventoryGUI implements Paginated<Inv
             page = getPages() - 1;
         }
         if (viewers.contains(player)) {
-            openedPage.put(player, page);
-            exclude = player;
-            player.openInventory(openedInventories.get(page));
-            exclude = null;
+            if (!pageSwapEnabled || !swapPage(page, player)) {
+                openedPage.put(player, page);
+                openInventory(player, getInventory(page, player));
+            }
+            prefetchAdjacentPages(page, player);
             return this;
         } else {
             PaginatedInventoryGUI copy = ((PaginatedInventoryGUI) getContextualizedCopy(player));
-            copy.viewers.add(player);
+            copy.addViewer(player);
             copy.openedPage.put(player, page);
-            player.openInventory(copy.createInventories(player).get(page));
+            copy.openInventory(player, copy.getInventory(page, player));
+            copy.prefetchAdjacentPages(page, player);
             return copy;
         }
     }
 
+    /**
+     * Shows another page in the inventory the viewer has open.
+     *
+     * @param page   the page number
+     * @param viewer the viewer
+     * @return if the page could be swapped; false if the inventory of the page needs to be opened
+     */
+    private boolean swapPage(int page, Player viewer) {
+        Integer current = openedPage.get(viewer);
+        Inventory inventory = getViewedInventory(viewer);
+        if (current == null || inventory == null || inventory.getSize() != getSize() || !Objects.equals(getTitle(current), getTitle(page))) {
+            return false;
+        }
+        if (current != page) {
+            for (Map.Entry<Player, Integer> entry : openedPage.entrySet()) {
+                int viewed = entry.getValue();
+                if (entry.getKey() != viewer && (viewed == current || viewed == page)) {
+                    return false;
+                }
+            }
+        }
+        for (int slot = 0; slot < getSize(); slot++) {
+            if (!isRendered(inventory, slot)) {
+                return false;
+            }
+        }
+        for (int slot = 0; slot < getSize(); slot++) {
+            update(viewer, inventory, page, slot);
+        }
+        openedPage.put(viewer, page);
+        if (current != page) {
+            openedInventories.remove(current, inventory);
+            Inventory replaced = openedInventories.put(page, inventory);
+            if (replaced != null && replaced != inventory) {
+                pageByInventory.remove(replaced);
+            }
+            pageByInventory.put(inventory, page);
+            stalePages.clear(page);
+            if (inventory.getHolder() instanceof InventoryGUIHolder) {
+                ((InventoryGUIHolder) inventory.getHolder()).setPage(page);
+            }
+        }
+        return true;
+    }
+
     @Override
     public void close(Player... players) {
         for (Player player : players) {
             if (viewers.contains(player)) {
-                openedPage.remove(player);
-                viewers.remove(player);
+                removeViewer(player);
                 player.closeInventory();
             }
         }
@@ -134,43 +267,115 @@ public class PaginatedInventoryGUI extends InventoryGUI implements Paginated<Inv
     }
 
     /**
-     * Creates the inventories for each page.
+     * Returns the inventory of a page and creates it if it does not exist yet.
      * <p>
      * This should only be done if the inventory is a {@link #getContextualizedCopy(Player) contextualized copy}.
      *
+     * @param page   the page number
      * @param viewer the viewer
      * @return the inventory
      */
-    private List<Inventory> createInventories(Player viewer) {
-        PaginatedInventoryLayout layout = (PaginatedInventoryLayout) getLayout();
-        for (int page = 0; page < getPages(); page++) {
-            openedInventories.add(Bukkit.createInventory(null, getSize(), getTitle(page)));
+    private Inventory getInventory(int page, Player viewer) {
+        Inventory inventory = openedInventories.get(page);
+        if (inventory == null) {
+            inventory = createInventory(page, viewer);
+            openedInventories.put(page, inventory);
+            pageByInventory.put(inventory, page);
+            stalePages.clear(page);
+            evictPages(pageCacheSize);
+        } else if (stalePages.get(page)) {
+            stalePages.clear(page);
             for (int slot = 0; slot < getSize(); slot++) {
-                Component<?, InventoryGUI> comp = layout.getComponent(page, slot);
-                if (!(comp instanceof InventoryButton)) {
-                    continue;
-                }
-                InventoryButton button = (InventoryButton) comp;
-                if (!button.getContextModifiers().isEmpty()) {
-                    // If the GUI is just a transient copy anyway, there is no need to copy the buttons.
-                    if (!isTransient()) {
-                        button = ((InventoryButton) comp).copy();
-                    }
-                    button.applyAllContextModifiers(viewer);
-                }
-                openedInventories.get(page).setItem(slot, button.createItemStack());
+                update(viewer, inventory, page, slot);
+            }
+        }
+        return inventory;
+    }
+
+    private void evictPages(int limit) {
+        Iterator<Map.Entry<Integer, Inventory>> iterator = openedInventories.entrySet().iterator();
+        while (openedInventories.size() > limit && iterator.hasNext()) {
+            Map.Entry<Integer, Inventory> entry = iterator.next();
+            if (openedPage.containsValue(entry.getKey()) || !isRendered(entry.getValue())) {
+                continue;
+            }
+            iterator.remove();
+            stalePages.clear(entry.getKey());
+            pageByInventory.remove(entry.getValue());
+        }
+    }
+
+    private boolean isRendered(Inventory inventory) {
+        for (int slot = 0; slot < inventory.getSize(); slot++) {
+            if (!isRendered(inventory, slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Inventory createInventory(int page, Player viewer) {
+        PaginatedInventoryLayout layout = (PaginatedInventoryLayout) getLayout();
+        InventoryGUIHolder holder = new InventoryGUIHolder(this, page, getSize(), getTitle(page));
+        Inventory inventory = holder.getInventory();
+        for (int slot = 0; slot < getSize(); slot++) {
+            Component<?, InventoryGUI> comp = layout.peekComponent(page, slot);
+            if (comp instanceof InventoryButton) {
+                ItemStack itemStack = ((InventoryButton) comp).createItemStack(viewer);
+                inventory.setItem(slot, itemStack);
+                holder.setRendered(slot, comp, itemStack);
             }
         }
-        return openedInventories;
+        return inventory;
+    }
+
+    private void prefetchAdjacentPages(int page, Player viewer) {
+        if (!adjacentPagePrefetchEnabled) {
+            return;
+        }
+        if (page + 1 < getPages()) {
+            getInventory(page + 1, viewer);
+        }
+        if (page > 0) {
+            getInventory(page - 1, viewer);
+        }
     }
 
     /**
      * Returns a List of each {@link org.bukkit.inventory.Inventory} created per page from this GUI.
+     * <p>
+     * Page inventories are only created when they are opened and discarded when the {@link #getPageCacheSize() page cache} is full,
+     * so pages that are not cached are null.
      *
      * @return a List of each {@link org.bukkit.inventory.Inventory} created per page from this GUI
      */
     public List<Inventory> getOpenedInventories() {
-        return openedInventories;
+        List<Inventory> inventories = new ArrayList<>(getPages());
+        for (int page = 0; page < getPages(); page++) {
+            inventories.add(null);
+        }
+        pageByInventory.forEach((i, p) -> {
+            if (p < inventories.size()) {
+                inventories.set(p, i);
+            }
+        });
+        return inventories;
+    }
+
+    /**
+     * Returns the page number of an {@link org.bukkit.inventory.Inventory} created from this GUI.
+     *
+     * @param rawInventory an Inventory
+     * @return the page number of the Inventory; null if it is not a representation of this GUI
+     */
+    public Integer getPage(Inventory rawInventory) {
+        return pageByInventory.get(rawInventory);
+    }
+
+    @Override
+    public InventoryButton getButton(Player viewer, int slot) {
+        Integer page = openedPage.get(viewer);
+        return ((PaginatedInventoryLayout) getLayout()).getButton(page != null ? page : 0, slot);
     }
 
     @Override
@@ -178,12 +383,32 @@ public class PaginatedInventoryGUI extends InventoryGUI implements Paginated<Inv
         return openedPage.get(player);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cached inventories of pages that nobody views are updated when they are opened again.
+     */
+    @Override
+    protected void invalidateHiddenInventories() {
+        for (int page : openedInventories.keySet()) {
+            if (!openedPage.containsValue(page)) {
+                stalePages.set(page);
+            }
+        }
+    }
+
+    @Override
+    protected int getViewedPage(Player viewer) {
+        Integer page = openedPage.get(viewer);
+        return page != null ? page : 0;
+    }
+
     @Override
     public boolean is(Inventory rawInventory) {
         if (rawInventory == null) {
             return false;
         }
-        return openedInventories.contains(rawInventory);
+        return pageByInventory.containsKey(rawInventory);
     }
 
     @Override
@@ -191,4 +416,9 @@ public class PaginatedInventoryGUI extends InventoryGUI implements Paginated<Inv
         return new PaginatedInventoryGUI(this);
     }
 
+    @Override
+    protected PaginatedInventoryGUI instantiate() {
+        return new PaginatedInventoryGUI(this, true);
+    }
+
 }
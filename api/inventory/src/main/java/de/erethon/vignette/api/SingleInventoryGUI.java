@@ -15,9 +15,13 @@ package de.erethon.vignette.api;
 import de.erethon.vignette.api.component.Component;
 import de.erethon.vignette.api.component.InventoryButton;
 import de.erethon.vignette.api.layout.InventoryLayout;
-import org.bukkit.Bukkit;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 
 /**
  * @author Daniel Saukel
@@ -25,6 +29,10 @@ import org.bukkit.inventory.Inventory;
 public class SingleInventoryGUI extends InventoryGUI {
 
     private Inventory openedInventory;
+    private Map<UUID, Inventory> openedInventories = new HashMap<>();
+    private Map<Inventory, UUID> viewerByInventory = new IdentityHashMap<>();
+    private Inventory sharedInventory;
+    private boolean sharedInventoryEnabled;
 
     public SingleInventoryGUI() {
         super();
@@ -38,7 +46,33 @@ public class SingleInventoryGUI extends InventoryGUI {
     }
 
     public SingleInventoryGUI(SingleInventoryGUI gui) {
-        super(gui);
+        this(gui, false);
+    }
+
+    protected SingleInventoryGUI(SingleInventoryGUI gui, boolean instance) {
+        super(gui, instance);
+        sharedInventoryEnabled = gui.sharedInventoryEnabled;
+    }
+
+    /**
+     * Returns if all viewers share one inventory if neither the GUI nor its buttons have {@link de.erethon.vignette.api.context.ContextModifier}s.
+     *
+     * @return if all viewers share one inventory if neither the GUI nor its buttons have ContextModifiers
+     */
+    public boolean isSharedInventoryEnabled() {
+        return sharedInventoryEnabled;
+    }
+
+    /**
+     * Sets if all viewers shall share one inventory if neither the GUI nor its buttons have {@link de.erethon.vignette.api.context.ContextModifier}s.
+     * <p>
+     * The shared inventory is created when the first viewer opens the GUI and discarded when the last one closes it.
+     * As the viewers see the same inventory, changes made by one viewer, like items that are taken or added, are visible to all of them.
+     *
+     * @param shared if all viewers shall share one inventory
+     */
+    public void setSharedInventoryEnabled(boolean shared) {
+        sharedInventoryEnabled = shared;
     }
 
     @Override
@@ -47,16 +81,47 @@ public class SingleInventoryGUI extends InventoryGUI {
             throw new IllegalStateException("The GUI " + toString() + " is not registered");
         }
         SingleInventoryGUI copy = ((SingleInventoryGUI) getContextualizedCopy(player));
-        copy.viewers.add(player);
-        player.openInventory(copy.createInventory(player));
+        copy.addViewer(player);
+        Inventory inventory;
+        if (copy.isInventoryShareable()) {
+            if (copy.sharedInventory == null) {
+                copy.sharedInventory = copy.createInventory(player);
+            }
+            inventory = copy.sharedInventory;
+        } else {
+            inventory = copy.createInventory(player);
+        }
+        copy.openedInventory = inventory;
+        Inventory previous = copy.openedInventories.put(player.getUniqueId(), inventory);
+        if (previous != null && previous != inventory) {
+            copy.viewerByInventory.remove(previous);
+        }
+        if (inventory != copy.sharedInventory) {
+            copy.viewerByInventory.put(inventory, player.getUniqueId());
+        }
+        copy.openInventory(player, inventory);
         return copy;
     }
 
+    private boolean isInventoryShareable() {
+        if (!sharedInventoryEnabled || !getContextModifiers().isEmpty()) {
+            return false;
+        }
+        InventoryLayout layout = (InventoryLayout) getLayout();
+        for (int i = 0; i < getSize(); i++) {
+            Component<?, InventoryGUI> comp = layout.peekComponent(0, i);
+            if (comp != null && !comp.getContextModifiers().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void close(Player... players) {
         for (Player player : players) {
             if (viewers.contains(player)) {
-                viewers.remove(player);
+                removeViewer(player);
                 player.closeInventory();
             }
         }
@@ -71,41 +136,65 @@ public class SingleInventoryGUI extends InventoryGUI {
      * @return the inventory
      */
     private Inventory createInventory(Player viewer) {
-        openedInventory = Bukkit.createInventory(null, getSize(), getTitle());
+        InventoryGUIHolder holder = new InventoryGUIHolder(this, 0, getSize(), getTitle());
+        Inventory inventory = holder.getInventory();
         InventoryLayout layout = (InventoryLayout) getLayout();
         for (int i = 0; i < getSize(); i++) {
-            Component<?, InventoryGUI> comp = layout.getComponent(i);
-            if (!(comp instanceof InventoryButton)) {
-                continue;
+            Component<?, InventoryGUI> comp = layout.peekComponent(0, i);
+            if (comp instanceof InventoryButton) {
+                ItemStack itemStack = ((InventoryButton) comp).createItemStack(viewer);
+                inventory.setItem(i, itemStack);
+                holder.setRendered(i, comp, itemStack);
             }
-            InventoryButton button = (InventoryButton) comp;
-            if (!button.getContextModifiers().isEmpty()) {
-                // If the GUI is just a transient copy anyway, there is no need to copy the buttons.
-                if (!isTransient()) {
-                    button = ((InventoryButton) comp).copy();
-                }
-                button.applyAllContextModifiers(viewer);
-            }
-            openedInventory.setItem(i, button.createItemStack());
         }
-        return openedInventory;
+        return inventory;
     }
 
     /**
      * Returns the last {@link org.bukkit.inventory.Inventory} created from this GUI.
      *
      * @return the last {@link org.bukkit.inventory.Inventory} created from this GUI
+     * @see #getOpenedInventory(Player)
      */
     public Inventory getOpenedInventory() {
         return openedInventory;
     }
 
+    /**
+     * Returns the {@link org.bukkit.inventory.Inventory} created from this GUI for a viewer.
+     *
+     * @param viewer the viewer
+     * @return the Inventory created from this GUI for the viewer; null if the player is not a viewer
+     */
+    public Inventory getOpenedInventory(Player viewer) {
+        return openedInventories.get(viewer.getUniqueId());
+    }
+
+    @Override
+    @Deprecated
+    public void removeViewer(Player player) {
+        super.removeViewer(player);
+        Inventory inventory = openedInventories.remove(player.getUniqueId());
+        if (inventory != null) {
+            viewerByInventory.remove(inventory);
+        }
+        if (viewers.size() == 0) {
+            sharedInventory = null;
+        }
+    }
+
+    @Override
+    protected Inventory getViewedInventory(Player viewer) {
+        Inventory inventory = openedInventories.get(viewer.getUniqueId());
+        return inventory != null && inventory == viewer.getOpenInventory().getTopInventory() ? inventory : null;
+    }
+
     @Override
     public boolean is(Inventory rawInventory) {
         if (rawInventory == null) {
             return false;
         }
-        return rawInventory.equals(openedInventory);
+        return rawInventory == sharedInventory || viewerByInventory.containsKey(rawInventory);
     }
 
     @Override
@@ -113,4 +202,9 @@ public class SingleInventoryGUI extends InventoryGUI {
         return new SingleInventoryGUI(this);
     }
 
+    @Override
+    protected SingleInventoryGUI instantiate() {
+        return new SingleInventoryGUI(this, true);
+    }
+
 }
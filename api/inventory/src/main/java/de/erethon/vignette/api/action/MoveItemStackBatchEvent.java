@@ -0,0 +1,122 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette.api.action;
+
+import de.erethon.vignette.api.InventoryGUI;
+import java.util.List;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Contains all slots of an inventory GUI that were changed by players within the {@link InventoryGUI#getMoveItemStackBatchWindow() batch window}.
+ *
+ * @author Daniel Saukel
+ */
+public class MoveItemStackBatchEvent {
+
+    private InventoryGUI gui;
+    private List<SlotChange> changes;
+
+    public MoveItemStackBatchEvent(InventoryGUI gui, List<SlotChange> changes) {
+        this.gui = gui;
+        this.changes = changes;
+    }
+
+    /**
+     * Returns the GUI that was interacted with.
+     *
+     * @return the GUI that was interacted with
+     */
+    public InventoryGUI getGUI() {
+        return gui;
+    }
+
+    /**
+     * Returns the changed slots in the order of their first change.
+     *
+     * @return the changed slots in the order of their first change
+     */
+    public List<SlotChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * The difference between the contents of a slot before the first and after the last change within the batch window.
+     */
+    public static class SlotChange {
+
+        private Inventory inventory;
+        private int slot;
+        private ItemStack before;
+        private ItemStack after;
+        private Player player;
+
+        public SlotChange(Inventory inventory, int slot, ItemStack before, ItemStack after, Player player) {
+            this.inventory = inventory;
+            this.slot = slot;
+            this.before = before;
+            this.after = after;
+            this.player = player;
+        }
+
+        /**
+         * Returns the inventory the slot belongs to.
+         * <p>
+         * For paginated GUIs, this can be used to find out the page.
+         *
+         * @return the inventory the slot belongs to
+         */
+        public Inventory getInventory() {
+            return inventory;
+        }
+
+        /**
+         * Returns the slot that was changed.
+         *
+         * @return the slot that was changed
+         */
+        public int getSlot() {
+            return slot;
+        }
+
+        /**
+         * Returns a copy of the ItemStack that was in the slot before the first change.
+         *
+         * @return a copy of the ItemStack that was in the slot before the first change; null if the slot was empty
+         */
+        public ItemStack getBefore() {
+            return before;
+        }
+
+        /**
+         * Returns a copy of the ItemStack that is in the slot after the last change.
+         *
+         * @return a copy of the ItemStack that is in the slot after the last change; null if the slot is empty
+         */
+        public ItemStack getAfter() {
+            return after;
+        }
+
+        /**
+         * Returns the player who changed the slot last.
+         *
+         * @return the player who changed the slot last
+         */
+        public Player getPlayer() {
+            return player;
+        }
+
+    }
+
+}
@@ -12,6 +12,8 @@
  */
 package de.erethon.vignette.api.action;
 
+import java.util.List;
+
 /**
  * @author Daniel Saukel
  */
@@ -25,4 +27,16 @@ public interface MoveItemStackListener {
      */
     void onAddition(MoveItemStackEvent event);
 
+    /**
+     * Fired once per tick with all {@link org.bukkit.inventory.ItemStack}s that were added to or taken from an inventory GUI during the previous tick.
+     * <p>
+     * Multiple moves that affect the same slot are coalesced into one event.
+     * By default, {@link #onAddition(MoveItemStackEvent)} is called for each event.
+     *
+     * @param events the events in the order of their first occurrence
+     */
+    default void onAdditions(List<MoveItemStackEvent> events) {
+        events.forEach(this::onAddition);
+    }
+
 }
@@ -18,9 +18,13 @@ import de.erethon.vignette.api.context.ContextModifier;
 import de.erethon.vignette.api.context.StatusModifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -39,6 +43,10 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
     private InteractionListener interactionListener;
     private Set<StatusModifier<?>> statusModifiers = new HashSet<>();
     private List<ContextModifier<InventoryButton>> contextModifiers = new ArrayList<>();
+    private Map<Player, ItemStack> rendered;
+    private ItemMeta meta;
+    private boolean frozen;
+    private boolean shown;
 
     /**
      * Creates a new InventoryButton directly from an {@link org.bukkit.inventory.ItemStack}.
@@ -64,12 +72,12 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
     public InventoryButton(Material icon, int number, String title, String... lines) {
         itemStack = new ItemStack(icon);
         itemStack.setAmount(number);
-        ItemMeta meta = getRawMeta();
-        meta.setDisplayName(title);
-        if (lines != null && lines.length != 0) {
-            meta.setLore(Arrays.asList(lines));
-        }
-        setRawMeta(meta);
+        edit(meta -> {
+            meta.setDisplayName(title);
+            if (lines != null && lines.length != 0) {
+                meta.setLore(Arrays.asList(lines));
+            }
+        });
     }
 
     /**
@@ -114,7 +122,10 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param icon the icon to set
      */
     public void setIcon(Material icon) {
+        checkMutable();
         itemStack.setType(icon);
+        meta = null;
+        invalidateRenderedItemStacks();
     }
 
     /**
@@ -136,20 +147,21 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param number the number to set
      */
     public void setNumber(int number) {
+        checkMutable();
         itemStack.setAmount(number);
+        invalidateRenderedItemStacks();
     }
 
     @Override
     public String getTitle() {
-        ItemMeta meta = getRawMeta();
+        ItemMeta meta = getMeta();
         return meta != null ? meta.getDisplayName() : null;
     }
 
     @Override
     public void setTitle(String text) {
-        ItemMeta meta = getRawMeta();
-        meta.setDisplayName(text);
-        setRawMeta(meta);
+        checkMutable();
+        edit(meta -> meta.setDisplayName(text));
     }
 
     /**
@@ -158,7 +170,8 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @return additional lines
      */
     public List<String> getLines() {
-        return itemStack.getItemMeta().getLore();
+        ItemMeta meta = getMeta();
+        return meta != null ? meta.getLore() : null;
     }
 
     /**
@@ -167,9 +180,8 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param lines the additional lines to set
      */
     public void setLines(List<String> lines) {
-        ItemMeta meta = getRawMeta();
-        meta.setLore(lines);
-        setRawMeta(meta);
+        checkMutable();
+        edit(meta -> meta.setLore(lines));
     }
 
     /**
@@ -178,11 +190,12 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param lines the additional lines to add
      */
     public void addLines(String... lines) {
-        ItemMeta meta = getRawMeta();
-        List<String> lore = meta.hasLore() ? meta.getLore() : new ArrayList<>();
-        lore.addAll(Arrays.asList(lines));
-        meta.setLore(lore);
-        setRawMeta(meta);
+        checkMutable();
+        edit(meta -> {
+            List<String> lore = meta.hasLore() ? meta.getLore() : new ArrayList<>();
+            lore.addAll(Arrays.asList(lines));
+            meta.setLore(lore);
+        });
     }
 
     /**
@@ -191,14 +204,16 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param lines the additional lines to remove
      */
     public void removeLines(String... lines) {
-        ItemMeta meta = getRawMeta();
-        if (!meta.hasLore()) {
+        checkMutable();
+        ItemMeta meta = getMeta();
+        if (meta == null || !meta.hasLore()) {
             return;
         }
-        List<String> lore = meta.getLore();
-        lore.removeAll(Arrays.asList(lines));
-        meta.setLore(lore);
-        setRawMeta(meta);
+        edit(m -> {
+            List<String> lore = m.getLore();
+            lore.removeAll(Arrays.asList(lines));
+            m.setLore(lore);
+        });
     }
 
     @Override
@@ -208,6 +223,7 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
 
     @Override
     public void setSound(String sound) {
+        checkMutable();
         this.sound = sound;
     }
 
@@ -226,7 +242,45 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param meta the {@link org.bukkit.inventory.meta.ItemMeta} to set
      */
     public void setRawMeta(ItemMeta meta) {
+        checkMutable();
         itemStack.setItemMeta(meta);
+        this.meta = null;
+        invalidateRenderedItemStacks();
+    }
+
+    /**
+     * Edits the {@link org.bukkit.inventory.meta.ItemMeta} of the underlying {@link org.bukkit.inventory.ItemStack} in one go.
+     * <p>
+     * Unlike a combination of {@link #getRawMeta()} and {@link #setRawMeta(ItemMeta)} or multiple setters,
+     * this copies the meta only once, no matter how many changes the editor makes.
+     * <p>
+     * The meta passed to the editor must not be used after the editor has returned.
+     *
+     * @param editor the function that changes the meta
+     */
+    public void edit(Consumer<ItemMeta> editor) {
+        checkMutable();
+        ItemMeta meta = getMeta();
+        if (meta == null) {
+            return;
+        }
+        this.meta = null;
+        editor.accept(meta);
+        itemStack.setItemMeta(meta);
+        this.meta = meta;
+        invalidateRenderedItemStacks();
+    }
+
+    /**
+     * Returns a cached copy of the meta of the underlying {@link org.bukkit.inventory.ItemStack} that is only to be modified through {@link #edit(Consumer)}.
+     *
+     * @return a cached copy of the meta of the underlying ItemStack
+     */
+    private ItemMeta getMeta() {
+        if (meta == null) {
+            meta = itemStack.getItemMeta();
+        }
+        return meta;
     }
 
     /**
@@ -248,6 +302,7 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param stealable if the button may be taken from the GUI
      */
     public void setStealable(boolean stealable) {
+        checkMutable();
         leftClickLocked = !stealable;
         rightClickLocked = !stealable;
     }
@@ -267,6 +322,7 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param locked if the button cannot be picked up with a left click
      */
     public void setLeftClickLocked(boolean locked) {
+        checkMutable();
         leftClickLocked = locked;
     }
 
@@ -285,6 +341,7 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * @param locked if the button cannot be picked up with a right click
      */
     public void setRightClickLocked(boolean locked) {
+        checkMutable();
         rightClickLocked = locked;
     }
 
@@ -295,6 +352,7 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
 
     @Override
     public void setInteractionListener(InteractionListener listener) {
+        checkMutable();
         interactionListener = listener;
     }
 
@@ -305,21 +363,27 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
 
     @Override
     public void addContextModifier(ContextModifier<InventoryButton> ctxt) {
+        checkMutable();
         contextModifiers.add(ctxt);
+        invalidateRenderedItemStacks();
     }
 
     @Override
     public void removeContextModifier(ContextModifier<InventoryButton> ctxt) {
+        checkMutable();
         contextModifiers.remove(ctxt);
+        invalidateRenderedItemStacks();
     }
 
     @Override
     public void setContextModifiers(List<ContextModifier<InventoryButton>> ctxts) {
+        checkMutable();
         if (ctxts == null) {
             contextModifiers.clear();
         } else {
             contextModifiers = ctxts;
         }
+        invalidateRenderedItemStacks();
     }
 
     @Override
@@ -334,32 +398,168 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
 
     @Override
     public void addStatusModifier(StatusModifier<?> status) {
+        checkMutable();
         statusModifiers.add(status);
+        invalidateRenderedItemStacks();
     }
 
     @Override
     public void removeStatusModifier(StatusModifier<?> status) {
+        checkMutable();
         statusModifiers.remove(status);
+        invalidateRenderedItemStacks();
     }
 
     @Override
     public void setStatusModifiers(Set<StatusModifier<?>> status) {
+        checkMutable();
         if (status == null) {
             statusModifiers.clear();
         } else {
             statusModifiers = status;
         }
+        invalidateRenderedItemStacks();
+    }
+
+    /**
+     * Returns an immutable snapshot of this button.
+     * <p>
+     * The snapshot shares its rendered {@link org.bukkit.inventory.ItemStack} with every GUI it is added to instead of copying it;
+     * all methods that would change it throw an {@link UnsupportedOperationException}.
+     * As it cannot change, {@link #copy()} returns the snapshot itself.
+     * Use {@link #derive(Consumer)} to create a changed snapshot or {@link #thaw()} to get a mutable copy.
+     *
+     * @return an immutable snapshot of this button; the button itself if it is already frozen
+     */
+    public InventoryButton freeze() {
+        if (frozen) {
+            return this;
+        }
+        InventoryButton snapshot = new InventoryButton(this);
+        snapshot.contextModifiers = Collections.unmodifiableList(new ArrayList<>(contextModifiers));
+        snapshot.statusModifiers = Collections.unmodifiableSet(new HashSet<>(statusModifiers));
+        snapshot.frozen = true;
+        return snapshot;
+    }
+
+    /**
+     * Returns a mutable copy of this button.
+     *
+     * @return a mutable copy of this button
+     */
+    public InventoryButton thaw() {
+        InventoryButton copy = new InventoryButton(this);
+        copy.contextModifiers = new ArrayList<>(contextModifiers);
+        copy.statusModifiers = new HashSet<>(statusModifiers);
+        return copy;
+    }
+
+    /**
+     * Creates a new immutable snapshot from a mutable copy of this button that the given function has changed.
+     *
+     * @param changes the function that changes the mutable copy
+     * @return the new snapshot
+     */
+    public InventoryButton derive(Consumer<InventoryButton> changes) {
+        InventoryButton copy = thaw();
+        changes.accept(copy);
+        return copy.freeze();
+    }
+
+    /**
+     * Returns if this button is an immutable {@link #freeze() snapshot}.
+     *
+     * @return if this button is an immutable snapshot
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("The button is frozen");
+        }
     }
 
     /**
      * Returns a raw {@link org.bukkit.inventory.ItemStack} to use in an inventory GUI.
      * <p>
      * Modifying the returned stack does not modify the button itself.
+     * If the button is {@link #isFrozen() frozen}, the returned stack is shared and must not be modified.
      *
      * @return a raw {@link org.bukkit.inventory.ItemStack} to use in an inventory GUI
      */
     public ItemStack createItemStack() {
-        return itemStack.clone();
+        shown = true;
+        return frozen ? itemStack : itemStack.clone();
+    }
+
+    /**
+     * Returns a raw {@link org.bukkit.inventory.ItemStack} to use in an inventory GUI
+     * in the form modified by the {@link de.erethon.vignette.api.context.ContextModifier}s for a viewer.
+     * <p>
+     * Neither modifying the returned stack nor the modifiers modify the button itself.
+     * If the button is {@link #isFrozen() frozen}, the returned stack is shared and must not be modified.
+     * <p>
+     * The modifiers are applied every time this is called, so that they may show changing values.
+     * The result is kept per viewer so that {@link #is(ItemStack, Player)} can match it without applying the modifiers again.
+     *
+     * @param viewer the Player who views the button
+     * @return a raw {@link org.bukkit.inventory.ItemStack} to use in an inventory GUI
+     */
+    public ItemStack createItemStack(Player viewer) {
+        if (contextModifiers.isEmpty()) {
+            return createItemStack();
+        }
+        shown = true;
+        ItemStack rendered = render(viewer);
+        return frozen ? rendered : rendered.clone();
+    }
+
+    private ItemStack render(Player viewer) {
+        InventoryButton modified = new InventoryButton(this);
+        modified.applyAllContextModifiers(viewer);
+        if (rendered == null) {
+            rendered = new WeakHashMap<>();
+        }
+        rendered.put(viewer, modified.itemStack);
+        return modified.itemStack;
+    }
+
+    private ItemStack getRenderedItemStack(Player viewer) {
+        ItemStack itemStack = rendered != null ? rendered.get(viewer) : null;
+        return itemStack != null ? itemStack : render(viewer);
+    }
+
+    /**
+     * Discards the kept forms of the button modified by its {@link de.erethon.vignette.api.context.ContextModifier}s
+     * and marks the button as changed so that open inventories that show it are {@link InventoryGUI#markDirty(InventoryButton) updated}.
+     * <p>
+     * Changes made through the methods of this button do this automatically.
+     * This only needs to be called to show a changed result of the modifiers, e.g. because of the state of the game, without waiting for a refresh.
+     */
+    public void invalidateRenderedItemStacks() {
+        if (rendered != null) {
+            rendered.clear();
+        }
+        if (shown) {
+            InventoryGUI.markDirty(this);
+        }
+    }
+
+    /**
+     * Discards the kept form of the button modified by its {@link de.erethon.vignette.api.context.ContextModifier}s for a viewer
+     * and marks the button as changed so that open inventories that show it are {@link InventoryGUI#markDirty(InventoryButton) updated}.
+     *
+     * @param viewer the viewer
+     */
+    public void invalidateRenderedItemStack(Player viewer) {
+        if (rendered != null) {
+            rendered.remove(viewer);
+        }
+        if (shown) {
+            InventoryGUI.markDirty(this);
+        }
     }
 
     /**
@@ -376,8 +576,8 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
      * Checks if the button is a representation of an {@link org.bukkit.inventory.ItemStack}.
      * <p>
      * If the button has one or more {@link de.erethon.vignette.api.context.ContextModifier}s and if it is not a representation of the ItemStack
-     * in the button's form not modified by its ContextModifiers, a copy of the button is made and the modifiers are applied to this copy for reference
-     * to check if the modified form is a representation of the ItemStack.
+     * in the button's form not modified by its ContextModifiers, the form modified for the player is checked.
+     * The form last shown to the player is used; see {@link #createItemStack(Player)}.
      *
      * @param rawButton     an ItemStack in an inventory GUI
      * @param contextPlayer the Player
@@ -389,18 +589,23 @@ public class InventoryButton implements Button<InventoryButton, InventoryGUI> {
             return true;
 
         } else if (!getContextModifiers().isEmpty()) {
-            InventoryButton modified = copy();
-            modified.applyAllContextModifiers(contextPlayer);
-            return modified.is(rawButton);
+            return getRenderedItemStack(contextPlayer).equals(rawButton);
 
         } else {
             return false;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the button is {@link #isFrozen() frozen}, the button itself is returned.
+     *
+     * @return an exact copy of the button
+     */
     @Override
     public InventoryButton copy() {
-        return new InventoryButton(this);
+        return frozen ? this : new InventoryButton(this);
     }
 
 }
@@ -13,7 +13,9 @@
 package de.erethon.vignette.api.layout;
 
 import de.erethon.vignette.api.InventoryGUI;
-import java.util.Arrays;
+import de.erethon.vignette.api.component.Component;
+import java.util.Collection;
+import java.util.Iterator;
 
 /**
  * An {@link InventoryLayout} that adds {@link de.erethon.vignette.api.component.Component}s to the center where possible.
@@ -27,20 +29,38 @@ import java.util.Arrays;
  */
 public class CenteredInventoryLayout extends SingleInventoryLayout {
 
-    private static final boolean[][] STATES = new boolean[][]{
-        {true, true, true, true, true, true, true, true, true},
-        {true, true, true, true, false, true, true, true, true},
-        {true, true, true, false, true, false, true, true, true},
-        {true, true, true, false, false, false, true, true, true},
-        {true, true, false, false, true, false, false, true, true},
-        {true, true, false, false, false, false, false, true, true},
-        {true, false, false, false, true, false, false, false, true},
-        {true, false, false, false, false, false, false, false, true},
-        {false, false, false, false, true, false, false, false, false},
-        {false, false, false, false, false, false, false, false, false}
+    /**
+     * The occupied slots of a centered line by the amount of components in it; bit i stands for the i-th slot of the line.
+     */
+    private static final int[] STATES = new int[]{
+        0b000000000,
+        0b000010000,
+        0b000101000,
+        0b000111000,
+        0b001101100,
+        0b001111100,
+        0b011101110,
+        0b011111110,
+        0b111101111,
+        0b111111111
     };
 
-    private static final int[] NEW_NEXT_SLOT = {4, 5, 5, 6, 6, 7, 7, 8, 8, 9};
+    /**
+     * The occupied slots of a centered line by the amount of components in it in ascending order.
+     */
+    private static final int[][] POSITIONS = new int[STATES.length][];
+
+    static {
+        for (int count = 0; count < STATES.length; count++) {
+            POSITIONS[count] = new int[count];
+            int i = 0;
+            for (int slot = 0; slot < LINE_LENGTH; slot++) {
+                if ((STATES[count] & 1 << slot) != 0) {
+                    POSITIONS[count][i++] = slot;
+                }
+            }
+        }
+    }
 
     public CenteredInventoryLayout(InventoryGUI gui, int size) {
         super(gui, size);
@@ -50,6 +70,10 @@ public class CenteredInventoryLayout extends SingleInventoryLayout {
         super(gui, layout);
     }
 
+    protected CenteredInventoryLayout(InventoryGUI gui, CenteredInventoryLayout layout, boolean instance) {
+        super(gui, layout, instance);
+    }
+
     @Override
     public int firstSlot() {
         return CENTER_SLOT;
@@ -63,39 +87,92 @@ public class CenteredInventoryLayout extends SingleInventoryLayout {
         }
 
         int firstInLine = slot - slot % LINE_LENGTH;// First slot of first line that isn't filled
-        boolean[] scan = scan(slot / LINE_LENGTH);
-        int sid = -1;
-        for (boolean[] state : STATES) {
-            sid++;
-            if (!Arrays.equals(scan, state)) {
-                continue;
+        int state = scan(slot / LINE_LENGTH);
+        int count = Integer.bitCount(state);
+        if (STATES[count] != state) {
+            return slot;
+        }
+        if (count == LINE_LENGTH) {
+            slot = firstInLine + CENTER_SLOT + LINE_LENGTH;
+            if (slot >= getSize()) {
+                slot = -1;
+            }
+            return slot;
+        }
+        center(firstInLine, count, count + 1);
+        slot = firstInLine + POSITIONS[count + 1][count];
+        return slot;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The final centered positions are calculated once per line, so each component that is already in the line is moved at most once.
+     */
+    @Override
+    public boolean addAll(Collection<? extends Component<?, InventoryGUI>> components) {
+        Iterator<? extends Component<?, InventoryGUI>> iterator = components.iterator();
+        int remaining = components.size();
+        while (remaining > 0) {
+            if (!hasSpaceLeft() || slot >= getSize()) {
+                return false;
             }
-            if (state[CENTER_SLOT]) {
-                shiftRelativelyIf(i -> i > CENTER_SLOT + firstInLine && i < firstInLine + LINE_LENGTH, -1);
-            } else {
-                if (!state[0]) {
-                    slot = firstInLine + CENTER_SLOT + LINE_LENGTH;
-                    if (slot >= getSize()) {
-                        slot = -1;
-                    }
-                    break;
+            int firstInLine = slot - slot % LINE_LENGTH;
+            int state = scan(slot / LINE_LENGTH);
+            int count = Integer.bitCount(state);
+            if (STATES[count] != state) {
+                if (!add(iterator.next())) {
+                    return false;
                 }
-                shiftRelativelyIf(i -> i > firstInLine && i <= firstInLine + CENTER_SLOT, -1);
+                remaining--;
+                continue;
+            }
+            if (count == LINE_LENGTH) {
+                nextSlot();
+                continue;
+            }
+            int newCount = Math.min(LINE_LENGTH, count + remaining);
+            center(firstInLine, count, newCount);
+            for (int i = count; i < newCount; i++) {
+                set(firstInLine + POSITIONS[newCount][i], iterator.next());
             }
-            slot = firstInLine + NEW_NEXT_SLOT[sid];
-            break;
+            remaining -= newCount - count;
+            slot = firstInLine + POSITIONS[newCount][newCount - 1];
         }
-        return slot;
+        return true;
     }
 
-    private boolean[] scan(int line) {
-        boolean[] scan = new boolean[LINE_LENGTH];
-        int j = 0;
-        for (int i = line * LINE_LENGTH; i < (line + 1) * LINE_LENGTH; i++) {
-            scan[j] = components[i] == null;
-            j++;
+    /**
+     * Moves the components of a line from their centered positions for one amount of components to the ones for a higher amount.
+     *
+     * @param firstInLine the first slot of the line
+     * @param count       the amount of components in the line
+     * @param newCount    the amount of components the line shall be centered for
+     */
+    private void center(int firstInLine, int count, int newCount) {
+        for (int i = 0; i < count; i++) {
+            int source = POSITIONS[count][i];
+            int target = POSITIONS[newCount][i];
+            if (source != target) {
+                shift(firstInLine + source, firstInLine + target);
+            }
         }
-        return scan;
+    }
+
+    /**
+     * Returns a bit mask of the occupied slots of a line; bit i stands for the i-th slot of the line.
+     *
+     * @param line the line
+     * @return a bit mask of the occupied slots of the line
+     */
+    private int scan(int line) {
+        int state = 0;
+        for (int i = 0; i < LINE_LENGTH; i++) {
+            if (components[line * LINE_LENGTH + i] != null) {
+                state |= 1 << i;
+            }
+        }
+        return state;
     }
 
     @Override
@@ -103,4 +180,9 @@ public class CenteredInventoryLayout extends SingleInventoryLayout {
         return new CenteredInventoryLayout(gui, this);
     }
 
+    @Override
+    public CenteredInventoryLayout instantiate(InventoryGUI gui) {
+        return new CenteredInventoryLayout(gui, this, true);
+    }
+
 }
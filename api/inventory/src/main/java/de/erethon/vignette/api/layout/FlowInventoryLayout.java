@@ -13,9 +13,12 @@
 package de.erethon.vignette.api.layout;
 
 import de.erethon.vignette.api.InventoryGUI;
+import de.erethon.vignette.api.component.Component;
 
 /**
  * A basic {@link InventoryLayout} that adds {@link de.erethon.vignette.api.component.Component}s in dextrograde reading direction.
+ * <p>
+ * Components are added to the first free slot, so slots that were freed by removing Components are filled again.
  *
  * @author Daniel Saukel
  */
@@ -29,6 +32,25 @@ public class FlowInventoryLayout extends SingleInventoryLayout {
         super(gui, layout);
     }
 
+    protected FlowInventoryLayout(InventoryGUI gui, FlowInventoryLayout layout, boolean instance) {
+        super(gui, layout, instance);
+    }
+
+    @Override
+    public boolean add(Component<?, InventoryGUI> component) {
+        int free = firstFreeSlot();
+        if (free == -1) {
+            return false;
+        }
+        slot = free;
+        return setToCurrent(component);
+    }
+
+    @Override
+    public boolean hasSpaceLeft() {
+        return firstFreeSlot() != -1;
+    }
+
     @Override
     public int nextSlot() {
         slot++;
@@ -43,4 +65,9 @@ public class FlowInventoryLayout extends SingleInventoryLayout {
         return new FlowInventoryLayout(gui, this);
     }
 
+    @Override
+    public FlowInventoryLayout instantiate(InventoryGUI gui) {
+        return new FlowInventoryLayout(gui, this, true);
+    }
+
 }
@@ -15,6 +15,7 @@ package de.erethon.vignette.api.layout;
 import de.erethon.vignette.api.InventoryGUI;
 import de.erethon.vignette.api.component.Component;
 import de.erethon.vignette.api.component.InventoryButton;
+import java.util.Collection;
 import java.util.function.Predicate;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -37,17 +38,52 @@ public interface InventoryLayout extends Layout<InventoryGUI> {
      */
     Component<?, InventoryGUI> getComponent(int slot);
 
+    /**
+     * Returns the component in a specific slot on a specific page without copying it
+     * if the layout is an {@link #instantiate(de.erethon.vignette.api.GUI) instance} that shares it.
+     * <p>
+     * Layouts without pagination ignore the page.
+     * <p>
+     * The returned component must not be modified.
+     *
+     * @param page the page number
+     * @param slot the slot at the page
+     * @return the component in a specific slot on a specific page
+     */
+    default Component<?, InventoryGUI> peekComponent(int page, int slot) {
+        return getComponent(slot);
+    }
+
     @Override
     default boolean add(Component<?, InventoryGUI> component) {
-        if (!hasSpaceLeft()) {
-            return false;
-        } else if (getCurrent() == null) {
-            setToCurrent(component);
-            return true;
-        } else {
-            nextSlot();
-            return add(component);
+        while (hasSpaceLeft()) {
+            if (getCurrent() == null) {
+                setToCurrent(component);
+                return true;
+            }
+            int slot = currentSlot();
+            if (nextSlot() == slot && getCurrent() != null) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds all Components in the order of the Collection.
+     * <p>
+     * Adding continues from the {@link #currentSlot() current slot} after each Component instead of starting over.
+     *
+     * @param components the Components to add
+     * @return if all Components were added successfully; false if no space was left for one of them
+     */
+    default boolean addAll(Collection<? extends Component<?, InventoryGUI>> components) {
+        for (Component<?, InventoryGUI> component : components) {
+            if (!add(component)) {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
@@ -139,6 +175,22 @@ public interface InventoryLayout extends Layout<InventoryGUI> {
         return currentSlot() != -1;
     }
 
+    /**
+     * Returns the first slot that does not contain a Component.
+     * <p>
+     * Paginated layouts count the slots over all pages like {@link #getComponent(int)}.
+     *
+     * @return the first slot that does not contain a Component; -1 if there is none
+     */
+    default int firstFreeSlot() {
+        for (int i = 0; i < getSize(); i++) {
+            if (peekComponent(0, i) == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Returns the first InventoryButton which represents the {@link org.bukkit.inventory.ItemStack}.
      *
@@ -158,6 +210,23 @@ public interface InventoryLayout extends Layout<InventoryGUI> {
      */
     InventoryButton getButton(ItemStack itemStack, Player contextPlayer);
 
+    /**
+     * Returns the InventoryButton in a specific slot on a specific page.
+     * <p>
+     * Layouts without pagination ignore the page.
+     *
+     * @param page the page number
+     * @param slot the slot at the page
+     * @return the InventoryButton in the slot; null if the slot is empty, not a button or out of bounds
+     */
+    default InventoryButton getButton(int page, int slot) {
+        if (slot < 0 || slot >= getSize()) {
+            return null;
+        }
+        Component<?, InventoryGUI> component = getComponent(slot);
+        return component instanceof InventoryButton ? (InventoryButton) component : null;
+    }
+
     /**
      * Returns the Component at the {@link #currentSlot()}.
      *
@@ -14,9 +14,13 @@ package de.erethon.vignette.api.layout;
 
 import de.erethon.vignette.api.InventoryGUI;
 import de.erethon.vignette.api.PaginatedInventoryGUI;
+import de.erethon.vignette.api.component.Component;
 
 /**
  * A basic paginated {@link InventoryLayout} that adds {@link de.erethon.vignette.api.component.Component}s in dextrograde reading direction.
+ * <p>
+ * Components are added to the first free slot, so slots that were freed by removing Components are filled again.
+ * A new page is only started if all pages are full.
  *
  * @author Daniel Saukel
  */
@@ -30,6 +34,10 @@ public class PaginatedFlowInventoryLayout extends PaginatedInventoryLayout {
         super(gui, layout);
     }
 
+    protected PaginatedFlowInventoryLayout(PaginatedInventoryGUI gui, PaginatedFlowInventoryLayout layout, boolean instance) {
+        super(gui, layout, instance);
+    }
+
     @Override
     public int nextSlot() {
         slot++;
@@ -40,6 +48,21 @@ public class PaginatedFlowInventoryLayout extends PaginatedInventoryLayout {
         return slot;
     }
 
+    @Override
+    public boolean add(Component<?, InventoryGUI> component) {
+        int free = firstFreeSlot();
+        if (free == -1) {
+            newPage();
+            free = firstFreeSlot();
+            if (free == -1) {
+                return false;
+            }
+        }
+        page = free / getSize();
+        slot = free % getSize();
+        return set(page, slot, component);
+    }
+
     @Override
     public PaginatedFlowInventoryLayout copy(InventoryGUI gui) {
         if (!(gui instanceof PaginatedInventoryGUI)) {
@@ -48,4 +71,12 @@ public class PaginatedFlowInventoryLayout extends PaginatedInventoryLayout {
         return new PaginatedFlowInventoryLayout((PaginatedInventoryGUI) gui, this);
     }
 
+    @Override
+    public PaginatedFlowInventoryLayout instantiate(InventoryGUI gui) {
+        if (!(gui instanceof PaginatedInventoryGUI)) {
+            throw new IllegalArgumentException("GUI is not a PaginatedInventoryGUI");
+        }
+        return new PaginatedFlowInventoryLayout((PaginatedInventoryGUI) gui, this, true);
+    }
+
 }
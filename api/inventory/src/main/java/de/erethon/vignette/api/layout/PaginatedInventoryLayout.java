@@ -18,14 +18,13 @@ import de.erethon.vignette.api.PaginatedInventoryGUI;
 import de.erethon.vignette.api.component.Component;
 import de.erethon.vignette.api.component.InventoryButton;
 import de.erethon.vignette.api.component.InventoryButtonBuilder;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
-import java.util.Stack;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -48,7 +47,8 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
                     gui.open(gui.getOpenedPage(player) - 1, player);
                 }
             })
-            .build();
+            .build()
+            .freeze();
     public static final InventoryButton NEXT_PAGE = new InventoryButtonBuilder()
             .title(ChatColor.GOLD + "NEXT PAGE")
             .sound("ui.button.click")
@@ -59,11 +59,13 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
                     gui.open(gui.getOpenedPage(player) + 1, player);
                 }
             })
-            .build();
+            .build()
+            .freeze();
     public static final InventoryButton PLACEHOLDER = new InventoryButtonBuilder()
             .icon(Material.getMaterial("WHITE_STAINED_GLASS_PANE") != null ? Material.getMaterial("WHITE_STAINED_GLASS_PANE") : Material.getMaterial("STAINED_GLASS_PANE"))
             .title(ChatColor.RESET.toString())
-            .build();
+            .build()
+            .freeze();
 
     /**
      * Determines in which slots the previous / next page buttons show up
@@ -85,33 +87,147 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
 
     private PaginatedInventoryGUI gui;
 
-    protected Stack<Component<?, InventoryGUI>[]> components;
+    /**
+     * The components of all pages; the component in a slot on a page is stored at the index page * size + slot.
+     * The array might be longer than the pages in use.
+     */
+    protected Component<?, InventoryGUI>[] components;
+    private int pages;
     protected int page = -1;
     protected int slot;
     private int size;
     private PaginationButtonPosition paginationButtonPosition;
     private boolean switchButtonLinePlaceholdersEnabled;
+    private BitSet shared;
+    /**
+     * One bit per slot that is set if the slot does not contain a component; each page starts with a new long.
+     */
+    private long[] free;
+    private BitSet pagesWithSpace = new BitSet();
 
     protected PaginatedInventoryLayout(PaginatedInventoryGUI gui, int size, PaginationButtonPosition paginationButtonPosition) {
-        components = new Stack<>();
+        components = new Component[size];
         this.size = size;
+        free = new long[wordsPerPage()];
         this.gui = gui;
         this.paginationButtonPosition = paginationButtonPosition;
         newPage();
     }
 
     protected PaginatedInventoryLayout(PaginatedInventoryGUI gui, PaginatedInventoryLayout layout) {
-        this(gui, layout.components.get(0).length, layout.paginationButtonPosition);
+        this(gui, layout, false);
+    }
+
+    /**
+     * @param gui      the GUI
+     * @param layout   the layout to copy
+     * @param instance if the components shall be shared with the layout until they are accessed
+     */
+    protected PaginatedInventoryLayout(PaginatedInventoryGUI gui, PaginatedInventoryLayout layout, boolean instance) {
+        size = layout.size;
+        this.gui = gui;
+        paginationButtonPosition = layout.paginationButtonPosition;
+        page = layout.page;
         slot = layout.slot;
-        for (Component<?, InventoryGUI>[] original : layout.components) {
-            Component<?, InventoryGUI>[] copy = components.push(new Component[getSize()]);
-            for (int i = 0; i < getSize(); i++) {
-                if (original[i] != null) {
-                    copy[i] = (Component<?, InventoryGUI>) original[i].copy();
-                }
+        switchButtonLinePlaceholdersEnabled = layout.switchButtonLinePlaceholdersEnabled;
+        pages = layout.pages;
+        components = new Component[Math.max(pages, 1) * getSize()];
+        free = new long[Math.max(pages, 1) * wordsPerPage()];
+        if (instance) {
+            shared = new BitSet(components.length);
+        }
+        for (int i = 0; i < pages * getSize(); i++) {
+            Component<?, InventoryGUI> original = layout.components[i];
+            if (original == null) {
+                continue;
+            }
+            if (instance) {
+                components[i] = original;
+                shared.set(i);
+            } else {
+                components[i] = (Component<?, InventoryGUI>) original.copy();
             }
         }
-        switchButtonLinePlaceholdersEnabled = layout.switchButtonLinePlaceholdersEnabled;
+        for (int i = 0; i < pages * getSize(); i++) {
+            if (components[i] == null) {
+                setFree(i / getSize(), i % getSize(), true);
+            }
+        }
+    }
+
+    /**
+     * Makes sure that the given amount of pages can be stored without growing the component array again.
+     *
+     * @param pages the amount of pages
+     */
+    protected void ensurePageCapacity(int pages) {
+        int required = pages * getSize();
+        if (required > components.length) {
+            components = Arrays.copyOf(components, Math.max(required, components.length * 2));
+            free = Arrays.copyOf(free, components.length / getSize() * wordsPerPage());
+        }
+    }
+
+    private int wordsPerPage() {
+        return (getSize() + 63) / 64;
+    }
+
+    private void setFree(int page, int slot, boolean isFree) {
+        int word = page * wordsPerPage() + slot / 64;
+        if (isFree) {
+            free[word] |= 1L << slot;
+            pagesWithSpace.set(page);
+        } else {
+            free[word] &= ~(1L << slot);
+            if (pagesWithSpace.get(page) && !hasFreeSlot(page)) {
+                pagesWithSpace.clear(page);
+            }
+        }
+    }
+
+    private boolean hasFreeSlot(int page) {
+        for (int i = page * wordsPerPage(); i < (page + 1) * wordsPerPage(); i++) {
+            if (free[i] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the component in the slot with a copy if it is still shared with the layout this one is an instance of.
+     *
+     * @param page the page number
+     * @param slot the slot at the page
+     * @return the component in the slot
+     */
+    protected Component<?, InventoryGUI> unshare(int page, int slot) {
+        int index = page * getSize() + slot;
+        if (shared != null && shared.get(index)) {
+            shared.clear(index);
+            components[index] = (Component<?, InventoryGUI>) components[index].copy();
+        }
+        return components[index];
+    }
+
+    private void unshareAll() {
+        if (shared == null) {
+            return;
+        }
+        for (int i = shared.nextSetBit(0); i >= 0; i = shared.nextSetBit(i + 1)) {
+            unshare(i / getSize(), i % getSize());
+        }
+    }
+
+    private void write(int page, int slot, Component<?, InventoryGUI> component) {
+        components[page * getSize() + slot] = component;
+        setFree(page, slot, component == null);
+        if (shared != null) {
+            shared.clear(page * getSize() + slot);
+        }
+        if (gui != null) {
+            gui.markDirty(page, slot);
+        }
     }
 
     @Override
@@ -121,32 +237,64 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
 
     @Override
     public Collection<Component<?, InventoryGUI>> getComponents() {
-        Collection<Component<?, InventoryGUI>> copy = new ArrayList<>(getSize() * components.size());
-        components.forEach(p -> copy.addAll(Arrays.asList(p)));
-        return copy;
+        unshareAll();
+        return new ArrayList<>(Arrays.asList(components).subList(0, pages * getSize()));
     }
 
     /**
      * Returns a List that contains one Collection of Components per page ordered by their number.
+     * <p>
+     * Each Collection is a fixed-size List view of the slots of its page.
+     * Setting an element of it sets the Component to the slot in this layout.
      *
      * @return a List that contains one Collection of Components per page ordered by their number.
      */
     public List<Collection<Component<?, InventoryGUI>>> getComponentsPerPage() {
-        List<Collection<Component<?, InventoryGUI>>> copy = new ArrayList<>(components.size());
-        for (Component<?, InventoryGUI>[] component : components) {
-            copy.add(Arrays.asList(component));
+        List<Collection<Component<?, InventoryGUI>>> views = new ArrayList<>(pages);
+        for (int page = 0; page < pages; page++) {
+            views.add(new PageView(page));
+        }
+        return views;
+    }
+
+    private class PageView extends AbstractList<Component<?, InventoryGUI>> {
+
+        private int page;
+
+        private PageView(int page) {
+            this.page = page;
+        }
+
+        @Override
+        public Component<?, InventoryGUI> get(int slot) {
+            checkSlot(slot);
+            return getComponent(page, slot);
+        }
+
+        @Override
+        public Component<?, InventoryGUI> set(int slot, Component<?, InventoryGUI> component) {
+            checkSlot(slot);
+            Component<?, InventoryGUI> previous = getComponent(page, slot);
+            write(page, slot, component);
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return getSize();
+        }
+
+        private void checkSlot(int slot) {
+            if (page >= pages || slot < 0 || slot >= getSize()) {
+                throw new IndexOutOfBoundsException("Slot " + slot + " of page " + page);
+            }
         }
-        return copy;
+
     }
 
     @Override
     public Component<?, InventoryGUI> getComponent(int slot) {
-        int page = 0;
-        while (slot >= getSize()) {
-            slot -= getSize();
-            page++;
-        }
-        return getComponent(page, slot);
+        return getComponent(slot / getSize(), slot % getSize());
     }
 
     /**
@@ -159,16 +307,21 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
      * @return the component in a specific slot on a specific page
      */
     public Component<?, InventoryGUI> getComponent(int page, int slot) {
-        return components.get(page)[slot];
+        return unshare(page, slot);
+    }
+
+    @Override
+    public Component<?, InventoryGUI> peekComponent(int page, int slot) {
+        return components[page * getSize() + slot];
     }
 
     @Override
     public boolean fillIf(Component<?, InventoryGUI> component, Predicate<Integer> filter) {
         boolean success = false;
-        for (Component<?, InventoryGUI>[] page : components) {
+        for (int page = 0; page < pages; page++) {
             for (int i = 0; i < getSize(); i++) {
                 if (filter.test(i)) {
-                    page[i] = component;
+                    write(page, i, component);
                     success = true;
                 }
             }
@@ -181,18 +334,13 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
         if (currentSlot() > getSize()) {
             return false;
         }
-        components.get(currentPage())[currentSlot()] = component;
+        write(currentPage(), currentSlot(), component);
         return true;
     }
 
     @Override
     public boolean set(int slot, Component<?, InventoryGUI> component) {
-        int page = 0;
-        while (slot >= getSize()) {
-            slot -= getSize();
-            page++;
-        }
-        return set(page, slot, component);
+        return set(slot / getSize(), slot % getSize(), component);
     }
 
     /**
@@ -204,49 +352,42 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
      * @return if setting the Component was successful
      */
     public boolean set(int page, int slot, Component<?, InventoryGUI> component) {
-        if (page >= components.size() || slot >= getSize()) {
+        if (page >= pages || slot >= getSize()) {
             return false;
         }
-        components.get(page)[slot] = component;
+        write(page, slot, component);
         return true;
     }
 
     @Override
     public boolean shift(int sourceSlot, int targetSlot) {
-        int sourcePage = 0;
-        while (sourceSlot >= getSize()) {
-            sourceSlot -= getSize();
-            sourcePage++;
-        }
-        if (sourcePage >= components.size()) {
+        if (sourceSlot >= pages * getSize() || targetSlot >= pages * getSize()) {
             return false;
         }
-        int targetPage = 0;
-        while (targetSlot >= getSize()) {
-            targetSlot -= getSize();
-            targetPage++;
-        }
-        if (targetPage >= components.size()) {
+        Component<?, InventoryGUI> source = components[sourceSlot];
+        boolean sourceShared = shared != null && shared.get(sourceSlot);
+        write(sourceSlot / getSize(), sourceSlot % getSize(), null);
+        if (components[targetSlot] != null) {
             return false;
         }
-        Component<?, InventoryGUI> source = components.get(sourcePage)[sourceSlot];
-        components.get(sourcePage)[sourceSlot] = null;
-        if (components.get(targetPage)[targetSlot] != null) {
-            return false;
+        components[targetSlot] = source;
+        setFree(targetSlot / getSize(), targetSlot % getSize(), source == null);
+        if (sourceShared) {
+            shared.set(targetSlot);
+        }
+        if (gui != null) {
+            gui.markDirty(targetSlot / getSize(), targetSlot % getSize());
         }
-        components.get(targetPage)[targetSlot] = source;
         return true;
     }
 
     @Override
     public boolean remove(Component<?, InventoryGUI> component) {
-        for (Component<?, InventoryGUI>[] components : components) {
-            for (int i = 0; i < getSize(); i++) {
-                Component c = components[i];
-                if (c != null && c.equals(component)) {
-                    components[i] = null;
-                    return true;
-                }
+        for (int i = 0; i < pages * getSize(); i++) {
+            Component c = components[i];
+            if (c != null && c.equals(component)) {
+                write(i / getSize(), i % getSize(), null);
+                return true;
             }
         }
         return false;
@@ -254,7 +395,16 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
 
     @Override
     public void clear() {
-        components.clear();
+        Arrays.fill(components, 0, pages * getSize(), null);
+        Arrays.fill(free, 0L);
+        pagesWithSpace.clear();
+        pages = 0;
+        if (shared != null) {
+            shared.clear();
+        }
+        if (gui != null) {
+            gui.markDirty();
+        }
         page = -1;
         newPage();
     }
@@ -265,7 +415,7 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
      * @return the amount of pages
      */
     public int getPages() {
-        return components.size();
+        return pages;
     }
 
     @Override
@@ -273,15 +423,26 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
         return size;
     }
 
+    @Override
+    public int firstFreeSlot() {
+        int page = pagesWithSpace.nextSetBit(0);
+        if (page == -1) {
+            return -1;
+        }
+        for (int i = 0; i < wordsPerPage(); i++) {
+            long word = free[page * wordsPerPage() + i];
+            if (word != 0) {
+                return page * getSize() + i * 64 + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return -1;
+    }
+
     @Override
     public InventoryButton getButton(ItemStack itemStack) {
-        for (Component<?, InventoryGUI>[] components : components) {
-            Optional<Component<?, InventoryGUI>> button = Stream.of(components)
-                    .filter(c -> c instanceof InventoryButton)
-                    .filter(c -> ((InventoryButton) c).is(itemStack))
-                    .findFirst();
-            if (button.isPresent()) {
-                return (InventoryButton) button.get();
+        for (int i = 0; i < pages * getSize(); i++) {
+            if (components[i] instanceof InventoryButton && ((InventoryButton) components[i]).is(itemStack)) {
+                return (InventoryButton) unshare(i / getSize(), i % getSize());
             }
         }
         return null;
@@ -289,24 +450,77 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
 
     @Override
     public InventoryButton getButton(ItemStack itemStack, Player contextPlayer) {
-        for (Component<?, InventoryGUI>[] components : components) {
-            Optional<Component<?, InventoryGUI>> button = Stream.of(components)
-                    .filter(c -> c instanceof InventoryButton)
-                    .filter(c -> ((InventoryButton) c).is(itemStack, contextPlayer))
-                    .findFirst();
-            if (button.isPresent()) {
-                return (InventoryButton) button.get();
+        for (int i = 0; i < pages * getSize(); i++) {
+            if (components[i] instanceof InventoryButton && ((InventoryButton) components[i]).is(itemStack, contextPlayer)) {
+                return (InventoryButton) unshare(i / getSize(), i % getSize());
             }
         }
         return null;
     }
 
+    @Override
+    public InventoryButton getButton(int page, int slot) {
+        if (page < 0 || page >= pages || slot < 0 || slot >= getSize()) {
+            return null;
+        }
+        return components[page * getSize() + slot] instanceof InventoryButton ? (InventoryButton) unshare(page, slot) : null;
+    }
+
     @Override
     public Component<?, InventoryGUI> getCurrent() {
         if (currentSlot() >= getSize()) {
             throw new IndexOutOfBoundsException("Size: " + getSize() + "; Current slot: " + currentSlot());
         }
-        return components.get(currentPage())[currentSlot()];
+        return unshare(currentPage(), currentSlot());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Components that are shared with the layout this one is an instance of are not copied in order to check if a slot is free.
+     */
+    @Override
+    public boolean add(Component<?, InventoryGUI> component) {
+        while (hasSpaceLeft()) {
+            int index = currentPage() * getSize() + currentSlot();
+            if (currentSlot() < getSize() && components[index] == null) {
+                write(currentPage(), currentSlot(), component);
+                return true;
+            }
+            nextSlot();
+            if (currentPage() * getSize() + currentSlot() == index) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The pages the Components are expected to fill are allocated in one step before they are added.
+     */
+    @Override
+    public boolean addAll(Collection<? extends Component<?, InventoryGUI>> components) {
+        ensureCapacityFor(components.size());
+        for (Component<?, InventoryGUI> component : components) {
+            if (!add(component)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Makes sure that the pages an amount of components to add is expected to fill can be stored without growing the component array again.
+     *
+     * @param amount the amount of components
+     */
+    protected void ensureCapacityFor(int amount) {
+        int perPage = getSize() - (areSwitchButtonLinePlaceholdersEnabled() ? LINE_LENGTH : 2);
+        if (perPage > 0) {
+            ensurePageCapacity(pages + (amount + perPage - 1) / perPage);
+        }
     }
 
     /**
@@ -327,15 +541,18 @@ public abstract class PaginatedInventoryLayout implements InventoryLayout {
      * Adds a new, empty page.
      */
     public void newPage() {
-        components.add(new Component[getSize()]);
-        int i = components.size() - 1;
+        ensurePageCapacity(pages + 1);
+        int i = pages++;
+        for (int slot = 0; slot < getSize(); slot++) {
+            setFree(i, slot, true);
+        }
         set(i, getSwitchButtonSlot(false), PREVIOUS_PAGE);
         set(i, getSwitchButtonSlot(true), NEXT_PAGE);
         if (areSwitchButtonLinePlaceholdersEnabled()) {
             addSwitchButtonLinePlaceholders(i);
         }
         slot = firstSlot();
-        page++;
+        page = i;
     }
 
     /**
@@ -16,10 +16,9 @@ import de.erethon.vignette.api.InventoryGUI;
 import de.erethon.vignette.api.component.Component;
 import de.erethon.vignette.api.component.InventoryButton;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Optional;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
@@ -34,6 +33,11 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
 
     protected Component<?, InventoryGUI>[] components;
     protected int slot;
+    private BitSet shared;
+    /**
+     * One bit per slot that is set if the slot does not contain a component.
+     */
+    private long[] free;
 
     /**
      * @param gui  the GUI
@@ -41,17 +45,78 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
      */
     protected SingleInventoryLayout(InventoryGUI gui, int size) {
         components = new Component[size];
+        free = new long[(size + 63) / 64];
+        setAllFree();
         this.gui = gui;
         slot = firstSlot();
     }
 
     protected SingleInventoryLayout(InventoryGUI gui, SingleInventoryLayout layout) {
+        this(gui, layout, false);
+    }
+
+    /**
+     * @param gui      the GUI
+     * @param layout   the layout to copy
+     * @param instance if the components shall be shared with the layout until they are accessed
+     */
+    protected SingleInventoryLayout(InventoryGUI gui, SingleInventoryLayout layout, boolean instance) {
         this(gui, layout.getSize());
         slot = layout.slot;
+        if (instance) {
+            shared = new BitSet(getSize());
+        }
         for (int i = 0; i < getSize(); i++) {
-            if (layout.components[i] != null) {
+            if (layout.components[i] == null) {
+                continue;
+            }
+            if (instance) {
+                components[i] = layout.components[i];
+                shared.set(i);
+            } else {
                 components[i] = (Component<?, InventoryGUI>) layout.components[i].copy();
             }
+            setFree(i, false);
+        }
+    }
+
+    private void setFree(int slot, boolean isFree) {
+        if (isFree) {
+            free[slot / 64] |= 1L << slot;
+        } else {
+            free[slot / 64] &= ~(1L << slot);
+        }
+    }
+
+    private void setAllFree() {
+        Arrays.fill(free, 0L);
+        for (int i = 0; i < components.length; i++) {
+            setFree(i, true);
+        }
+    }
+
+    /**
+     * Replaces the component in the slot with a copy if it is still shared with the layout this one is an instance of.
+     *
+     * @param slot the slot
+     * @return the component in the slot
+     */
+    protected Component<?, InventoryGUI> unshare(int slot) {
+        if (shared != null && shared.get(slot)) {
+            shared.clear(slot);
+            components[slot] = (Component<?, InventoryGUI>) components[slot].copy();
+        }
+        return components[slot];
+    }
+
+    private void write(int slot, Component<?, InventoryGUI> component) {
+        components[slot] = component;
+        setFree(slot, component == null);
+        if (shared != null) {
+            shared.clear(slot);
+        }
+        if (gui != null) {
+            gui.markDirty(0, slot);
         }
     }
 
@@ -62,11 +127,21 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
 
     @Override
     public Collection<Component<?, InventoryGUI>> getComponents() {
+        if (shared != null) {
+            for (int i = shared.nextSetBit(0); i >= 0; i = shared.nextSetBit(i + 1)) {
+                unshare(i);
+            }
+        }
         return Arrays.asList(components);
     }
 
     @Override
     public Component<?, InventoryGUI> getComponent(int slot) {
+        return unshare(slot);
+    }
+
+    @Override
+    public Component<?, InventoryGUI> peekComponent(int page, int slot) {
         return components[slot];
     }
 
@@ -75,7 +150,7 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
         boolean success = false;
         for (int i = 0; i < getSize(); i++) {
             if (filter.test(i)) {
-                components[i] = component;
+                write(i, component);
                 success = true;
             }
         }
@@ -87,7 +162,7 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
         if (currentSlot() > getSize()) {
             return false;
         }
-        components[currentSlot()] = component;
+        write(currentSlot(), component);
         return true;
     }
 
@@ -96,7 +171,7 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
         if (slot >= getSize()) {
             return false;
         }
-        components[slot] = component;
+        write(slot, component);
         return true;
     }
 
@@ -106,11 +181,19 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
             return false;
         }
         Component<?, InventoryGUI> source = components[sourceSlot];
-        components[sourceSlot] = null;
+        boolean sourceShared = shared != null && shared.get(sourceSlot);
+        write(sourceSlot, null);
         if (components[targetSlot] != null) {
             return false;
         }
         components[targetSlot] = source;
+        setFree(targetSlot, source == null);
+        if (sourceShared) {
+            shared.set(targetSlot);
+        }
+        if (gui != null) {
+            gui.markDirty(0, targetSlot);
+        }
         return true;
     }
 
@@ -119,7 +202,7 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
         for (int i = 0; i < getSize(); i++) {
             Component<?, InventoryGUI> c = components[i];
             if (c != null && c.equals(component)) {
-                components[i] = null;
+                write(i, null);
                 return true;
             }
         }
@@ -129,7 +212,14 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
     @Override
     public void clear() {
         components = new Component[getSize()];
+        setAllFree();
         slot = firstSlot();
+        if (shared != null) {
+            shared.clear();
+        }
+        if (gui != null) {
+            gui.markDirty();
+        }
     }
 
     @Override
@@ -137,22 +227,34 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
         return components.length;
     }
 
+    @Override
+    public int firstFreeSlot() {
+        for (int i = 0; i < free.length; i++) {
+            if (free[i] != 0) {
+                return i * 64 + Long.numberOfTrailingZeros(free[i]);
+            }
+        }
+        return -1;
+    }
+
     @Override
     public InventoryButton getButton(ItemStack itemStack) {
-        Optional<Component<?, InventoryGUI>> button = Stream.of(components)
-                .filter(c -> c instanceof InventoryButton)
-                .filter(c -> ((InventoryButton) c).is(itemStack))
-                .findFirst();
-        return button.isPresent() ? (InventoryButton) button.get() : null;
+        for (int i = 0; i < getSize(); i++) {
+            if (components[i] instanceof InventoryButton && ((InventoryButton) components[i]).is(itemStack)) {
+                return (InventoryButton) unshare(i);
+            }
+        }
+        return null;
     }
 
     @Override
     public InventoryButton getButton(ItemStack itemStack, Player contextPlayer) {
-        Optional<Component<?, InventoryGUI>> button = Stream.of(components)
-                .filter(c -> c instanceof InventoryButton)
-                .filter(c -> ((InventoryButton) c).is(itemStack, contextPlayer))
-                .findFirst();
-        return button.isPresent() ? (InventoryButton) button.get() : null;
+        for (int i = 0; i < getSize(); i++) {
+            if (components[i] instanceof InventoryButton && ((InventoryButton) components[i]).is(itemStack, contextPlayer)) {
+                return (InventoryButton) unshare(i);
+            }
+        }
+        return null;
     }
 
     @Override
@@ -160,7 +262,7 @@ public abstract class SingleInventoryLayout implements InventoryLayout {
         if (currentSlot() >= getSize()) {
             throw new IndexOutOfBoundsException("Size: " + getSize() + "; Current slot: " + currentSlot());
         }
-        return components[currentSlot()];
+        return unshare(currentSlot());
     }
 
     @Override
@@ -0,0 +1,105 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette.benchmark;
+
+import de.erethon.vignette.InventoryListener;
+import de.erethon.vignette.api.GUI;
+import de.erethon.vignette.api.SingleInventoryGUI;
+import de.erethon.vignette.api.component.InventoryButtonBuilder;
+import de.erethon.vignette.api.layout.FlowInventoryLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType.SlotType;
+import org.bukkit.inventory.InventoryView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long {@link de.erethon.vignette.InventoryListener#onInventoryClick(InventoryClickEvent)} takes to dispatch a click
+ * depending on the amount of registered GUIs.
+ *
+ * @author Daniel Saukel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClickDispatchBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int registeredGUIs;
+
+    private InventoryListener listener = new InventoryListener();
+    private List<GUI> guis = new ArrayList<>();
+    private InventoryClickEvent buttonClick;
+    private InventoryClickEvent emptySlotClick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubServer server = StubServer.install();
+        Player viewer = null;
+        for (int i = 0; i < registeredGUIs; i++) {
+            SingleInventoryGUI gui = new SingleInventoryGUI("GUI " + i);
+            gui.setLayout(new FlowInventoryLayout(gui, 54));
+            for (int j = 0; j < 45; j++) {
+                gui.add(new InventoryButtonBuilder().title("Button " + j).onInteract(e -> {
+                }).build());
+            }
+            gui.register();
+            guis.add(gui);
+            viewer = server.addPlayer("Player" + i);
+            gui.open(viewer);
+        }
+        InventoryView view = viewer.getOpenInventory();
+        buttonClick = new InventoryClickEvent(view, SlotType.CONTAINER, 44, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        emptySlotClick = new InventoryClickEvent(view, SlotType.CONTAINER, 53, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        guis.forEach(GUI::unregister);
+        guis.clear();
+        StubServer.install().clearPlayers();
+    }
+
+    @Benchmark
+    public boolean clickButton() {
+        listener.onInventoryClick(buttonClick);
+        return buttonClick.isCancelled();
+    }
+
+    @Benchmark
+    public boolean clickEmptySlot() {
+        listener.onInventoryClick(emptySlotClick);
+        return emptySlotClick.isCancelled();
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette.benchmark;
+
+import de.erethon.vignette.api.PaginatedInventoryGUI;
+import de.erethon.vignette.api.SingleInventoryGUI;
+import de.erethon.vignette.api.component.InventoryButton;
+import de.erethon.vignette.api.layout.CenteredInventoryLayout;
+import de.erethon.vignette.api.layout.FlowInventoryLayout;
+import de.erethon.vignette.api.layout.InventoryLayout;
+import de.erethon.vignette.api.layout.PaginatedFlowInventoryLayout;
+import de.erethon.vignette.api.layout.PaginatedInventoryLayout.PaginationButtonPosition;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures button lookups in a full {@link de.erethon.vignette.api.layout.FlowInventoryLayout}
+ * and filling a {@link de.erethon.vignette.api.layout.CenteredInventoryLayout}, which calls {@link CenteredInventoryLayout#nextSlot()} for every component,
+ * as well as slot access in, filling of and replacing entries in a large {@link de.erethon.vignette.api.layout.PaginatedFlowInventoryLayout}.
+ *
+ * @author Daniel Saukel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LayoutBenchmark {
+
+    private SingleInventoryGUI gui;
+    private InventoryLayout layout;
+    private InventoryButton[] buttons = new InventoryButton[54];
+    private ItemStack lastItemStack;
+    private PaginatedInventoryGUI paginatedGUI;
+    private PaginatedFlowInventoryLayout paginated;
+    private List<InventoryButton> catalogue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubServer.install();
+        gui = new SingleInventoryGUI("Layout");
+        layout = new FlowInventoryLayout(gui, 54);
+        gui.setLayout(layout);
+        for (int i = 0; i < buttons.length; i++) {
+            buttons[i] = new InventoryButton("Button " + i);
+            layout.add(buttons[i]);
+        }
+        lastItemStack = buttons[buttons.length - 1].createItemStack();
+
+        InventoryButton[] entries = new InventoryButton[5000];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new InventoryButton("Entry " + i);
+        }
+        catalogue = Arrays.asList(entries);
+        paginatedGUI = new PaginatedInventoryGUI("Catalogue");
+        paginated = new PaginatedFlowInventoryLayout(paginatedGUI, 54, PaginationButtonPosition.BOTTOM);
+        paginatedGUI.setLayout(paginated);
+        paginated.addAll(catalogue);
+    }
+
+    @Benchmark
+    public InventoryButton getButtonByItemStack() {
+        return layout.getButton(lastItemStack);
+    }
+
+    @Benchmark
+    public InventoryButton getButtonBySlot() {
+        return layout.getButton(0, buttons.length - 1);
+    }
+
+    @Benchmark
+    public Object getPaginatedComponent() {
+        return paginated.peekComponent(paginated.getPages() - 1, 0);
+    }
+
+    @Benchmark
+    public Object getPaginatedComponentBySlot() {
+        return paginated.getComponent((paginated.getPages() - 1) * paginated.getSize());
+    }
+
+    @Benchmark
+    public boolean replacePaginatedEntry() {
+        paginated.remove(catalogue.get(0));
+        return paginated.add(catalogue.get(0));
+    }
+
+    @Benchmark
+    public PaginatedFlowInventoryLayout fillPaginatedOneByOne() {
+        PaginatedFlowInventoryLayout layout = new PaginatedFlowInventoryLayout(paginatedGUI, 54, PaginationButtonPosition.BOTTOM);
+        for (InventoryButton button : catalogue) {
+            layout.add(button);
+        }
+        return layout;
+    }
+
+    @Benchmark
+    public PaginatedFlowInventoryLayout fillPaginated() {
+        PaginatedFlowInventoryLayout layout = new PaginatedFlowInventoryLayout(paginatedGUI, 54, PaginationButtonPosition.BOTTOM);
+        layout.addAll(catalogue);
+        return layout;
+    }
+
+    @Benchmark
+    public CenteredInventoryLayout fillCentered() {
+        CenteredInventoryLayout centered = new CenteredInventoryLayout(gui, 54);
+        for (InventoryButton button : buttons) {
+            centered.add(button);
+        }
+        return centered;
+    }
+
+    @Benchmark
+    public CenteredInventoryLayout fillCenteredAll() {
+        CenteredInventoryLayout centered = new CenteredInventoryLayout(gui, 54);
+        centered.addAll(Arrays.asList(buttons));
+        return centered;
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette.benchmark;
+
+import de.erethon.vignette.InventoryListener;
+import de.erethon.vignette.api.InventoryGUI;
+import de.erethon.vignette.api.PaginatedInventoryGUI;
+import de.erethon.vignette.api.SingleInventoryGUI;
+import de.erethon.vignette.api.component.InventoryButtonBuilder;
+import de.erethon.vignette.api.layout.FlowInventoryLayout;
+import de.erethon.vignette.api.layout.PaginatedFlowInventoryLayout;
+import de.erethon.vignette.api.layout.PaginatedInventoryLayout.PaginationButtonPosition;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures opening and closing a full {@link de.erethon.vignette.api.SingleInventoryGUI} and a six page {@link de.erethon.vignette.api.PaginatedInventoryGUI}
+ * as well as switching to the next page by opening its inventory or by {@link PaginatedInventoryGUI#setPageSwapEnabled(boolean) swapping} it.
+ * <p>
+ * Without context modifiers, the GUI itself is opened again and again; with context modifiers, every open creates a contextualized copy.
+ *
+ * @author Daniel Saukel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpenBenchmark {
+
+    @Param({"false", "true"})
+    public boolean contextModifiers;
+
+    private InventoryListener listener = new InventoryListener();
+    private Player player;
+    private SingleInventoryGUI single;
+    private PaginatedInventoryGUI paginated;
+    private PaginatedInventoryGUI swapping;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        player = StubServer.install().addPlayer("Player");
+
+        single = new SingleInventoryGUI("Single");
+        single.setLayout(new FlowInventoryLayout(single, 54));
+        fill(single, 54);
+        single.register();
+
+        paginated = new PaginatedInventoryGUI("Paginated");
+        paginated.setLayout(new PaginatedFlowInventoryLayout(paginated, 54, PaginationButtonPosition.BOTTOM));
+        fill(paginated, 6 * 45);
+        paginated.register();
+
+        swapping = paginated.copy();
+        swapping.setPageSwapEnabled(true);
+    }
+
+    private void fill(InventoryGUI gui, int amount) {
+        if (contextModifiers) {
+            gui.addContextModifier((t, p) -> t.setTitle(p.getName()));
+        }
+        for (int i = 0; i < amount; i++) {
+            InventoryButtonBuilder builder = new InventoryButtonBuilder().title("Button " + i).lines("Line 1", "Line 2");
+            if (contextModifiers && i % 9 == 0) {
+                builder.contextModifier((t, p) -> t.setTitle(p.getName()));
+            }
+            gui.add(builder.build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        single.unregister();
+        paginated.unregister();
+        swapping.unregister();
+        StubServer.install().clearPlayers();
+    }
+
+    @Benchmark
+    public InventoryGUI openSingle() {
+        return close(single.open(player));
+    }
+
+    @Benchmark
+    public InventoryGUI openPaginated() {
+        return close(paginated.open(0, player));
+    }
+
+    @Benchmark
+    public InventoryGUI switchPage() {
+        PaginatedInventoryGUI gui = paginated.open(0, player);
+        gui.open(1, player);
+        return close(gui);
+    }
+
+    @Benchmark
+    public InventoryGUI swapPage() {
+        PaginatedInventoryGUI gui = swapping.open(0, player);
+        gui.open(1, player);
+        return close(gui);
+    }
+
+    private InventoryGUI close(InventoryGUI gui) {
+        listener.onInventoryClose(new InventoryCloseEvent(player.getOpenInventory()));
+        player.closeInventory();
+        return gui;
+    }
+
+}
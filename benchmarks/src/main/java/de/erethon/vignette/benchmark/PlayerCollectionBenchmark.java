@@ -0,0 +1,111 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette.benchmark;
+
+import de.erethon.vignette.util.PlayerCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures common {@link de.erethon.vignette.util.PlayerCollection} operations with and without an online view.
+ *
+ * @author Daniel Saukel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerCollectionBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean onlineView;
+
+    private PlayerCollection collection;
+    private List<String> serialized;
+    private Player lastPlayer;
+    private UUID absent = UUID.randomUUID();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubServer server = StubServer.install();
+        collection = new PlayerCollection(onlineView);
+        for (int i = 0; i < size; i++) {
+            lastPlayer = server.addPlayer("Player" + i);
+            collection.add(lastPlayer);
+        }
+        serialized = collection.serialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        StubServer.install().clearPlayers();
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return collection.contains(lastPlayer);
+    }
+
+    @Benchmark
+    public boolean addAndRemove() {
+        collection.add(absent);
+        return collection.remove(absent);
+    }
+
+    @Benchmark
+    public Collection<Player> getOnlinePlayers() {
+        return collection.getOnlinePlayers();
+    }
+
+    @Benchmark
+    public List<String> serialize() {
+        return collection.serialize();
+    }
+
+    @Benchmark
+    public PlayerCollection deserialize() {
+        PlayerCollection deserialized = new PlayerCollection();
+        deserialized.addAllSerialized(serialized);
+        return deserialized;
+    }
+
+    @Benchmark
+    public List<UUID> iterate() {
+        List<UUID> uuids = new ArrayList<>(size);
+        collection.forEach(uuids::add);
+        return uuids;
+    }
+
+}
@@ -0,0 +1,409 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette.benchmark;
+
+import de.erethon.vignette.util.PlayerCollection;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * A minimal in-memory {@link org.bukkit.Server} that provides just enough of the Bukkit API to run Vignette outside of a real server.
+ * <p>
+ * Inventories, players and item meta are backed by dynamic proxies; methods that are not needed return default values.
+ *
+ * @author Daniel Saukel
+ */
+public class StubServer implements InvocationHandler {
+
+    private static StubServer instance;
+
+    private Logger logger = Logger.getLogger(StubServer.class.getName());
+    private Map<UUID, Player> players = new HashMap<>();
+    private ItemFactory itemFactory = proxy(ItemFactory.class, new ItemFactoryHandler());
+
+    private StubServer() {
+        logger.setLevel(Level.WARNING);
+    }
+
+    /**
+     * Installs the stub server as the Bukkit server if it has not been installed yet.
+     * <p>
+     * Like the inventory module, the stub server keeps the online views of {@link de.erethon.vignette.util.PlayerCollection}s updated.
+     *
+     * @return the stub server
+     */
+    public static StubServer install() {
+        if (instance == null) {
+            instance = new StubServer();
+            Bukkit.setServer(proxy(Server.class, instance));
+            PlayerCollection.enableOnlineViewUpdates();
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a new online player.
+     *
+     * @param name the name of the player
+     * @return the player
+     */
+    public Player addPlayer(String name) {
+        UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes());
+        Player player = proxy(Player.class, new PlayerHandler(uuid, name));
+        players.put(uuid, player);
+        PlayerCollection.updateOnlineViews(player, true);
+        return player;
+    }
+
+    /**
+     * Removes all players.
+     */
+    public void clearPlayers() {
+        players.values().forEach(p -> PlayerCollection.updateOnlineViews(p, false));
+        players.clear();
+    }
+
+    /**
+     * Creates an inventory that is not backed by a GUI, e.g. for the bottom half of an {@link org.bukkit.inventory.InventoryView}.
+     *
+     * @param size the size of the inventory
+     * @return the inventory
+     */
+    public Inventory createInventory(int size) {
+        return proxy(Inventory.class, new InventoryHandler(null, size, "Inventory"));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getLogger":
+                return logger;
+            case "getName":
+                return "StubServer";
+            case "getVersion":
+            case "getBukkitVersion":
+                return "benchmark";
+            case "isPrimaryThread":
+                return true;
+            case "getItemFactory":
+                return itemFactory;
+            case "createInventory":
+                int size = args[1] instanceof Integer ? (Integer) args[1] : 27;
+                String title = args.length > 2 ? (String) args[2] : "Chest";
+                return proxy(Inventory.class, new InventoryHandler((InventoryHolder) args[0], size, title));
+            case "getOnlinePlayers":
+                return Collections.unmodifiableCollection(players.values());
+            case "getPlayer":
+            case "getPlayerExact":
+                return args[0] instanceof UUID ? players.get(args[0]) : getPlayer((String) args[0]);
+            case "getOfflinePlayer":
+                Player player = args[0] instanceof UUID ? players.get(args[0]) : getPlayer((String) args[0]);
+                if (player != null) {
+                    return player;
+                }
+                UUID uuid = args[0] instanceof UUID ? (UUID) args[0] : UUID.nameUUIDFromBytes(("OfflinePlayer:" + args[0]).getBytes());
+                return proxy(OfflinePlayer.class, new PlayerHandler(uuid, args[0] instanceof String ? (String) args[0] : null));
+            default:
+                return handleDefault(proxy, method, args);
+        }
+    }
+
+    private Player getPlayer(String name) {
+        for (Player player : players.values()) {
+            if (player.getName().equalsIgnoreCase(name)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler, Class<?>... additionalTypes) {
+        Class<?>[] types = Arrays.copyOf(additionalTypes, additionalTypes.length + 1);
+        types[additionalTypes.length] = type;
+        return (T) Proxy.newProxyInstance(StubServer.class.getClassLoader(), types, handler);
+    }
+
+    private static Object handleDefault(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return proxy.getClass().getInterfaces()[proxy.getClass().getInterfaces().length - 1].getSimpleName();
+        }
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0d;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == char.class) {
+            return (char) 0;
+        }
+        return null;
+    }
+
+    private static class StubInventoryView extends InventoryView {
+
+        private Inventory top, bottom;
+        private HumanEntity player;
+
+        StubInventoryView(Inventory top, Inventory bottom, HumanEntity player) {
+            this.top = top;
+            this.bottom = bottom;
+            this.player = player;
+        }
+
+        @Override
+        public Inventory getTopInventory() {
+            return top;
+        }
+
+        @Override
+        public Inventory getBottomInventory() {
+            return bottom;
+        }
+
+        @Override
+        public HumanEntity getPlayer() {
+            return player;
+        }
+
+        @Override
+        public InventoryType getType() {
+            return InventoryType.CHEST;
+        }
+
+        @Override
+        public String getTitle() {
+            return "Chest";
+        }
+
+    }
+
+    private class PlayerHandler implements InvocationHandler {
+
+        private UUID uuid;
+        private String name;
+        private Inventory playerInventory = proxy(PlayerInventory.class, new InventoryHandler(null, 41, "Inventory"));
+        private InventoryView openInventory;
+
+        PlayerHandler(UUID uuid, String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return uuid;
+                case "getName":
+                case "getDisplayName":
+                case "getPlayerListName":
+                    return name;
+                case "isOnline":
+                    return players.containsKey(uuid);
+                case "getPlayer":
+                    return players.get(uuid);
+                case "getServer":
+                    return Bukkit.getServer();
+                case "getInventory":
+                    return playerInventory;
+                case "getOpenInventory":
+                    return openInventory;
+                case "openInventory":
+                    if (args[0] instanceof InventoryView) {
+                        openInventory = (InventoryView) args[0];
+                    } else {
+                        openInventory = new StubInventoryView((Inventory) args[0], playerInventory, (HumanEntity) proxy);
+                    }
+                    return openInventory;
+                case "closeInventory":
+                    openInventory = null;
+                    return null;
+                default:
+                    return handleDefault(proxy, method, args);
+            }
+        }
+
+    }
+
+    private static class InventoryHandler implements InvocationHandler {
+
+        private InventoryHolder holder;
+        private ItemStack[] contents;
+        private String title;
+
+        InventoryHandler(InventoryHolder holder, int size, String title) {
+            this.holder = holder;
+            contents = new ItemStack[size];
+            this.title = title;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getSize":
+                    return contents.length;
+                case "getMaxStackSize":
+                    return 64;
+                case "getHolder":
+                    return holder;
+                case "getType":
+                    return InventoryType.CHEST;
+                case "getTitle":
+                    return title;
+                case "getItem":
+                    return contents[(Integer) args[0]];
+                case "setItem":
+                    contents[(Integer) args[0]] = (ItemStack) args[1];
+                    return null;
+                case "getContents":
+                case "getStorageContents":
+                    return contents.clone();
+                case "setContents":
+                case "setStorageContents":
+                    ItemStack[] items = (ItemStack[]) args[0];
+                    Arrays.fill(contents, null);
+                    System.arraycopy(items, 0, contents, 0, Math.min(items.length, contents.length));
+                    return null;
+                case "clear":
+                    if (args == null) {
+                        Arrays.fill(contents, null);
+                    } else {
+                        contents[(Integer) args[0]] = null;
+                    }
+                    return null;
+                default:
+                    return handleDefault(proxy, method, args);
+            }
+        }
+
+    }
+
+    private static class ItemFactoryHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getItemMeta":
+                    return proxy(ItemMeta.class, new ItemMetaHandler(new HashMap<>()), Damageable.class);
+                case "isApplicable":
+                    return true;
+                case "equals":
+                    if (args == null || args.length != 2) {
+                        return handleDefault(proxy, method, args);
+                    }
+                    return values(args[0]).equals(values(args[1]));
+                case "asMetaFor":
+                    return args[0];
+                case "updateMaterial":
+                    return args[1];
+                default:
+                    return handleDefault(proxy, method, args);
+            }
+        }
+
+        private static Map<String, Object> values(Object meta) {
+            return meta != null ? ((ItemMetaHandler) Proxy.getInvocationHandler(meta)).values : Collections.emptyMap();
+        }
+
+    }
+
+    /**
+     * Stores the values set through bean-style setters of {@link org.bukkit.inventory.meta.ItemMeta} by their property name.
+     */
+    private static class ItemMetaHandler implements InvocationHandler {
+
+        private Map<String, Object> values;
+
+        ItemMetaHandler(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            int params = method.getParameterCount();
+            if (name.equals("clone") && params == 0) {
+                Map<String, Object> copy = new HashMap<>();
+                values.forEach((k, v) -> copy.put(k, v instanceof List ? new ArrayList<>((List) v) : v));
+                return proxy(ItemMeta.class, new ItemMetaHandler(copy), Damageable.class);
+
+            } else if (name.equals("equals") && params == 1) {
+                return args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof ItemMetaHandler
+                        && values.equals(((ItemMetaHandler) Proxy.getInvocationHandler(args[0])).values);
+
+            } else if (name.equals("hashCode") && params == 0) {
+                return values.hashCode();
+
+            } else if (name.startsWith("set") && params == 1) {
+                if (args[0] == null) {
+                    values.remove(name.substring(3));
+                } else {
+                    values.put(name.substring(3), args[0] instanceof List ? new ArrayList<>((List) args[0]) : args[0]);
+                }
+                return null;
+
+            } else if (name.startsWith("get") && params == 0) {
+                Object value = values.get(name.substring(3));
+                if (value == null) {
+                    return handleDefault(proxy, method, args);
+                }
+                return value instanceof List ? new ArrayList<>((List) value) : value;
+
+            } else if (name.startsWith("has") && params == 0) {
+                return values.containsKey(name.substring(3));
+            }
+            return handleDefault(proxy, method, args);
+        }
+
+    }
+
+}
@@ -13,16 +13,13 @@
 package de.erethon.vignette;
 
 import de.erethon.vignette.api.InventoryGUI;
-import de.erethon.vignette.api.PaginatedInventoryGUI;
-import de.erethon.vignette.api.VignetteAPI;
 import de.erethon.vignette.api.action.Action;
 import de.erethon.vignette.api.action.CloseEvent;
 import de.erethon.vignette.api.action.InteractionEvent;
-import de.erethon.vignette.api.action.MoveItemStackEvent;
-import de.erethon.vignette.api.action.MoveItemStackListener;
 import de.erethon.vignette.api.component.InventoryButton;
 import java.util.HashSet;
 import java.util.Set;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -30,9 +27,8 @@ import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
 /**
  * @author Daniel Saukel
@@ -54,85 +50,68 @@ public class InventoryListener implements Listener {
         MOVE_ACTIONS.add(InventoryAction.SWAP_WITH_CURSOR);
     }
 
-    private void fireMISE(InventoryGUI gui, InventoryClickEvent event) {
-        MoveItemStackListener misl = gui.getMoveItemStackListener();
-        if (misl == null) {
-            return;
-        }
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                MoveItemStackEvent mise = new MoveItemStackEvent(gui, event.getAction(), event.getInventory().getItem(event.getSlot()),
-                        event.getSlot(), (Player) event.getWhoClicked());
-                try {
-                    misl.onAddition(mise);
-                } catch (Exception exception) {
-                    exception.printStackTrace();
-                }
-            }
-        }.runTaskLater(JavaPlugin.getProvidingPlugin(InventoryListener.class), 1L);
-    }
+    private MoveItemStackQueue moveItemStackQueue = new MoveItemStackQueue();
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) {
             return;
         }
+        InventoryGUI gui = InventoryGUI.getByInventory(event.getInventory());
+        if (gui == null) {
+            return;
+        }
         Player player = (Player) event.getWhoClicked();
-        for (InventoryGUI gui : VignetteAPI.getCache(InventoryGUI.class)) {
-            if (!gui.getViewers().contains(player)) {
-                continue;
-            }
-            if (event.getClickedInventory() instanceof PlayerInventory) {
-                if (event.getAction() == InventoryAction.MOVE_TO_OTHER_INVENTORY) {
-                    event.setCancelled(true);
-                }
-                return;
-            }
-            InventoryButton button = gui.getButton(event.getCurrentItem());
-            InventoryAction iAction = event.getAction();
-            if (button == null) {
-                if (MOVE_ACTIONS.contains(iAction)) {
-                    fireMISE(gui, event);
-                }
-                continue;
-            }
-            Action vAction = Action.CLICK;
-            switch (iAction) {
-                case PLACE_ALL:
-                case PICKUP_ALL:
-                case MOVE_TO_OTHER_INVENTORY:
-                    vAction = Action.LEFT_CLICK;
-                    break;
-                case PICKUP_HALF:
-                case PLACE_ONE:
-                    vAction = Action.RIGHT_CLICK;
-            }
-            boolean cancelled = true;
-            if (vAction == Action.LEFT_CLICK) {
-                cancelled = button.isLeftClickLocked();
-            } else if (vAction == Action.RIGHT_CLICK) {
-                cancelled = button.isRightClickLocked();
+        if (event.getClickedInventory() instanceof PlayerInventory) {
+            if (event.getAction() == InventoryAction.MOVE_TO_OTHER_INVENTORY) {
+                event.setCancelled(true);
             }
-            event.setCancelled(cancelled);
-            if (button.getSound() != null) {
-                player.playSound(player.getLocation(), button.getSound(), 1f, 1f);
+            return;
+        }
+        ItemStack item = event.getCurrentItem();
+        // Null if the button was taken and the slot holds a different item now
+        InventoryButton button = item != null && item.getType() != Material.AIR ? gui.getRenderedButton(event.getInventory(), event.getSlot()) : null;
+        InventoryAction iAction = event.getAction();
+        if (button == null) {
+            if (MOVE_ACTIONS.contains(iAction)) {
+                moveItemStackQueue.add(gui, event);
             }
-            if (button.getInteractionListener() != null) {
-                InteractionEvent ie = new InteractionEvent(gui, button, player, vAction);
-                try {
-                    button.getInteractionListener().onAction(ie);
-                } catch (Exception exception) {
-                    exception.printStackTrace();
-                }
-                if (ie.isClickCancelled()) {
-                    return;
-                }
+            return;
+        }
+        Action vAction = Action.CLICK;
+        switch (iAction) {
+            case PLACE_ALL:
+            case PICKUP_ALL:
+            case MOVE_TO_OTHER_INVENTORY:
+                vAction = Action.LEFT_CLICK;
+                break;
+            case PICKUP_HALF:
+            case PLACE_ONE:
+                vAction = Action.RIGHT_CLICK;
+        }
+        boolean cancelled = true;
+        if (vAction == Action.LEFT_CLICK) {
+            cancelled = button.isLeftClickLocked();
+        } else if (vAction == Action.RIGHT_CLICK) {
+            cancelled = button.isRightClickLocked();
+        }
+        event.setCancelled(cancelled);
+        if (button.getSound() != null) {
+            player.playSound(player.getLocation(), button.getSound(), 1f, 1f);
+        }
+        if (button.getInteractionListener() != null) {
+            InteractionEvent ie = new InteractionEvent(gui, button, player, vAction);
+            try {
+                button.getInteractionListener().onAction(ie);
+            } catch (Exception exception) {
+                exception.printStackTrace();
             }
-            if (!cancelled && MOVE_ACTIONS.contains(iAction)) {
-                fireMISE(gui, event);
+            if (ie.isClickCancelled()) {
+                return;
             }
-            break;
+        }
+        if (!cancelled && MOVE_ACTIONS.contains(iAction)) {
+            moveItemStackQueue.add(gui, event);
         }
     }
 
@@ -141,12 +120,8 @@ public class InventoryListener implements Listener {
         if (!(event.getWhoClicked() instanceof Player)) {
             return;
         }
-        Player player = (Player) event.getWhoClicked();
-        for (InventoryGUI gui : VignetteAPI.getCache(InventoryGUI.class)) {
-            if (gui.getViewers().contains(player)) {
-                event.setCancelled(true);
-                return;
-            }
+        if (InventoryGUI.getByInventory(event.getInventory()) != null) {
+            event.setCancelled(true);
         }
     }
 
@@ -156,20 +131,19 @@ public class InventoryListener implements Listener {
             return;
         }
         Player player = (Player) event.getPlayer();
-        if (PaginatedInventoryGUI.exclude == player) {
+        InventoryGUI gui = InventoryGUI.getByInventory(event.getInventory());
+        if (gui == null) {
             return;
         }
-        for (InventoryGUI gui : VignetteAPI.getCache(InventoryGUI.class)) {
-            if (!gui.is(event.getInventory())) {
-                continue;
-            }
-            if (gui.getCloseListener() != null) {
-                gui.getCloseListener().onClose(new CloseEvent(gui, player));
-            }
-            gui.removeViewer(player);
-            if (gui.isTransient()) {
-                gui.unregister();
-            }
+        if (gui.isOpening(player)) {
+            return;
+        }
+        if (gui.getCloseListener() != null) {
+            gui.getCloseListener().onClose(new CloseEvent(gui, player));
+        }
+        gui.removeViewer(player);
+        if (gui.isTransient()) {
+            gui.unregister();
         }
     }
 
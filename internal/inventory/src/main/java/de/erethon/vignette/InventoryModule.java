@@ -12,6 +12,8 @@
  */
 package de.erethon.vignette;
 
+import de.erethon.vignette.api.InventoryGUI;
+import de.erethon.vignette.util.PlayerCollection;
 import de.erethon.vignette.util.VignetteModule;
 import org.bukkit.plugin.Plugin;
 
@@ -23,6 +25,10 @@ public class InventoryModule implements VignetteModule {
     @Override
     public void onInit(Plugin plugin) {
         plugin.getServer().getPluginManager().registerEvents(new InventoryListener(), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new PlayerListener(), plugin);
+        PlayerCollection.enableOnlineViewUpdates();
+        InventoryGUI.enableUpdateScheduling();
+        plugin.getServer().getScheduler().runTaskTimer(plugin, InventoryGUI::flushUpdates, 1L, 1L);
     }
 
 }
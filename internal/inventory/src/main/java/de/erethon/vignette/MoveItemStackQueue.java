@@ -0,0 +1,209 @@
+/*
+ * Written in 2020 by Daniel Saukel
+ *
+ * To the extent possible under law, the author(s) have dedicated all
+ * copyright and related and neighboring rights to this software
+ * to the public domain worldwide.
+ *
+ * This software is distributed without any warranty.
+ *
+ * You should have received a copy of the CC0 Public Domain Dedication
+ * along with this software. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+package de.erethon.vignette;
+
+import de.erethon.vignette.api.InventoryGUI;
+import de.erethon.vignette.api.action.MoveItemStackBatchEvent;
+import de.erethon.vignette.api.action.MoveItemStackBatchEvent.SlotChange;
+import de.erethon.vignette.api.action.MoveItemStackBatchListener;
+import de.erethon.vignette.api.action.MoveItemStackEvent;
+import de.erethon.vignette.api.action.MoveItemStackListener;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Collects the moves of ItemStacks and dispatches them as {@link de.erethon.vignette.api.action.MoveItemStackEvent}s in the next tick
+ * and as {@link de.erethon.vignette.api.action.MoveItemStackBatchEvent}s when the {@link InventoryGUI#getMoveItemStackBatchWindow() batch window} has passed.
+ * <p>
+ * Multiple moves that affect the same slot of the same inventory are coalesced into one event.
+ *
+ * @author Daniel Saukel
+ */
+class MoveItemStackQueue implements Runnable {
+
+    private Map<InventoryGUI, Batch> pending = new LinkedHashMap<>();
+    private BukkitTask task;
+
+    /**
+     * Queues a move that was triggered by an {@link org.bukkit.event.inventory.InventoryClickEvent}.
+     *
+     * @param gui   the GUI that was interacted with
+     * @param event the click event
+     */
+    void add(InventoryGUI gui, InventoryClickEvent event) {
+        boolean single = gui.getMoveItemStackListener() != null;
+        boolean batched = gui.getMoveItemStackBatchListener() != null;
+        if (!single && !batched) {
+            return;
+        }
+        Batch batch = pending.computeIfAbsent(gui, g -> new Batch(g.getMoveItemStackBatchWindow()));
+        Slot slot = new Slot(event.getInventory(), event.getSlot());
+        Player player = (Player) event.getWhoClicked();
+        if (single) {
+            batch.moves.put(slot, new Move(event.getAction(), player));
+        }
+        if (batched) {
+            Change change = batch.changes.get(slot);
+            if (change == null) {
+                ItemStack before = event.getCurrentItem();
+                batch.changes.put(slot, new Change(before != null && before.getType() != Material.AIR ? before.clone() : null, player));
+            } else {
+                change.player = player;
+            }
+        }
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(JavaPlugin.getProvidingPlugin(MoveItemStackQueue.class), this, 1L, 1L);
+        }
+    }
+
+    /**
+     * Dispatches the moves queued since the last tick and the batches whose window has passed.
+     */
+    @Override
+    public void run() {
+        Iterator<Map.Entry<InventoryGUI, Batch>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<InventoryGUI, Batch> entry = iterator.next();
+            InventoryGUI gui = entry.getKey();
+            Batch batch = entry.getValue();
+            if (!batch.moves.isEmpty()) {
+                dispatchMoves(gui, batch.moves);
+                batch.moves = new LinkedHashMap<>();
+            }
+            if (!batch.changes.isEmpty() && --batch.ticksLeft <= 0) {
+                dispatchChanges(gui, batch.changes);
+                batch.changes = new LinkedHashMap<>();
+                batch.ticksLeft = gui.getMoveItemStackBatchWindow();
+            }
+            if (batch.moves.isEmpty() && batch.changes.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        if (pending.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void dispatchMoves(InventoryGUI gui, Map<Slot, Move> moves) {
+        MoveItemStackListener listener = gui.getMoveItemStackListener();
+        if (listener == null) {
+            return;
+        }
+        List<MoveItemStackEvent> events = new ArrayList<>(moves.size());
+        moves.forEach((s, m) -> events.add(new MoveItemStackEvent(gui, m.action, s.inventory.getItem(s.slot), s.slot, m.player)));
+        try {
+            listener.onAdditions(events);
+        } catch (Exception exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private void dispatchChanges(InventoryGUI gui, Map<Slot, Change> changes) {
+        MoveItemStackBatchListener listener = gui.getMoveItemStackBatchListener();
+        if (listener == null) {
+            return;
+        }
+        List<SlotChange> diff = new ArrayList<>(changes.size());
+        changes.forEach((s, c) -> {
+            ItemStack after = s.inventory.getItem(s.slot);
+            after = after != null && after.getType() != Material.AIR ? after.clone() : null;
+            if (!Objects.equals(c.before, after)) {
+                diff.add(new SlotChange(s.inventory, s.slot, c.before, after, c.player));
+            }
+        });
+        if (diff.isEmpty()) {
+            return;
+        }
+        try {
+            listener.onChanges(new MoveItemStackBatchEvent(gui, diff));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private static class Batch {
+
+        private Map<Slot, Move> moves = new LinkedHashMap<>();
+        private Map<Slot, Change> changes = new LinkedHashMap<>();
+        private int ticksLeft;
+
+        Batch(int window) {
+            ticksLeft = window;
+        }
+
+    }
+
+    private static class Slot {
+
+        private Inventory inventory;
+        private int slot;
+
+        Slot(Inventory inventory, int slot) {
+            this.inventory = inventory;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Slot)) {
+                return false;
+            }
+            return inventory == ((Slot) other).inventory && slot == ((Slot) other).slot;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(inventory) + slot;
+        }
+
+    }
+
+    private static class Move {
+
+        private InventoryAction action;
+        private Player player;
+
+        Move(InventoryAction action, Player player) {
+            this.action = action;
+            this.player = player;
+        }
+
+    }
+
+    private static class Change {
+
+        private ItemStack before;
+        private Player player;
+
+        Change(ItemStack before, Player player) {
+            this.before = before;
+            this.player = player;
+        }
+
+    }
+
+}